@@ -1,5 +1,18 @@
 package com.cdac.hostel.client;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public interface AuthServiceClient {
     boolean userExists(Long userId);
+
+    /**
+     * Returns the subset of the given user IDs that exist.
+     * Used by bulk operations. The default still calls userExists once per ID, so callers
+     * should pass distinct IDs; a client for a service with a batch lookup can override it.
+     */
+    default Set<Long> findExistingUsers(Collection<Long> userIds) {
+        return userIds.stream().filter(this::userExists).collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,26 @@
+package com.cdac.hostel.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for work that runs alongside a request.
+ * The auth executor overlaps Auth Service user checks with database writes.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(name = "authCheckExecutor")
+    public Executor authCheckExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("auth-check-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,51 @@
+package com.cdac.hostel.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.cdac.hostel.model.Hostel;
+import com.cdac.hostel.repository.HostelRepository;
+import com.cdac.hostel.util.GeoCoordinates;
+
+/**
+ * Fills in latitude/longitude for hostels submitted before coordinates were stored,
+ * by parsing their map location. Runs before the in-memory indexes are built, so the
+ * geo index sees the backfilled coordinates. Hostels whose map location holds no
+ * coordinates are left as they are and retried on the next start.
+ */
+@Component
+public class HostelCoordinateBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostelCoordinateBackfill.class);
+
+    @Autowired
+    private HostelRepository hostelRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        List<Hostel> missing = hostelRepository.findByLatitudeIsNullAndMapLocationIsNotNull();
+        List<Hostel> parsed = new ArrayList<>();
+        for (Hostel hostel : missing) {
+            double[] coordinates = GeoCoordinates.parse(hostel.getMapLocation());
+            if (coordinates != null) {
+                hostel.setLatitude(coordinates[0]);
+                hostel.setLongitude(coordinates[1]);
+                parsed.add(hostel);
+            }
+        }
+        hostelRepository.saveAll(parsed);
+
+        logger.info("Hostel coordinates backfilled: parsed={}, unparseable={}",
+                    parsed.size(), missing.size() - parsed.size());
+    }
+}
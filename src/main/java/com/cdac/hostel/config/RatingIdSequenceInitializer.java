@@ -0,0 +1,44 @@
+package com.cdac.hostel.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.cdac.hostel.model.HostelRating;
+
+/**
+ * Keeps the rating ID sequence ahead of existing rows.
+ * hostel_ratings used IDENTITY ids before moving to the hostel_ratings_seq sequence table,
+ * so on startup the sequence is raised past MAX(rating_id) plus one allocation block;
+ * otherwise freshly allocated IDs could collide with old ratings. Hibernate and the
+ * rating write-behind queue both allocate blocks from this table.
+ *
+ * Runs once all singletons exist (the schema is in place by then) but before the
+ * embedded web server starts, so no request can draw an ID from an unaligned sequence.
+ */
+@Component
+public class RatingIdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingIdSequenceInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long floor = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(rating_id), 0) FROM hostel_ratings", Long.class)
+                + HostelRating.ID_ALLOCATION_SIZE + 1;
+
+        int updated = jdbcTemplate.update(
+                "UPDATE hostel_ratings_seq SET next_val = GREATEST(next_val, ?)", floor);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO hostel_ratings_seq (next_val) VALUES (?)", floor);
+        }
+
+        logger.info("Rating ID sequence aligned: next_val >= {}", floor);
+    }
+}
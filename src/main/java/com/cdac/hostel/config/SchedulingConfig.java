@@ -0,0 +1,13 @@
+package com.cdac.hostel.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task support.
+ * Used for background maintenance jobs such as rating aggregate verification.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.cdac.hostel.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -14,8 +15,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.cdac.hostel.dto.CursorPage;
+import com.cdac.hostel.dto.HostelDTO;
+import com.cdac.hostel.dto.HostelSearchQuery;
+import com.cdac.hostel.dto.HostelSearchResult;
+import com.cdac.hostel.dto.NearbyHostelDTO;
 import com.cdac.hostel.dto.RankedHostelDTO;
+import com.cdac.hostel.dto.RankingQuery;
 import com.cdac.hostel.dto.ReplyRequest;
+import com.cdac.hostel.dto.SuggestionDTO;
 import com.cdac.hostel.model.Hostel;
 import com.cdac.hostel.model.HostelReviewReply;
 import com.cdac.hostel.service.HostelRatingService;
@@ -47,14 +55,88 @@ public class HostelController {
         return hostelService.createHostel(hostel, userId);
     }
 
+    /**
+     * Retrieves a single approved hostel with all its details.
+     * List endpoints return HostelDTO listing rows; this is where the full hostel is served.
+     * Hostels that are not approved are only served by the internal API.
+     */
+    @GetMapping("/{hostelId}")
+    public Hostel getHostel(@PathVariable Long hostelId) {
+        return hostelService.getApprovedHostel(hostelId);
+    }
+
     @GetMapping("/approved")
-    public List<Hostel> getApprovedHostels() {
+    public List<HostelDTO> getApprovedHostels() {
         return hostelService.getApprovedHostels();
     }
     
     @GetMapping("/pending")
-    public List<Hostel> getPendingHostels() {
-        return hostelService.getPendingHostels();
+    public List<HostelDTO> getPendingHostels() {
+        return hostelService.getPendingHostelListings();
+    }
+
+    /**
+     * Retrieves one page of approved hostels, oldest first.
+     * Pass the nextCursor of the previous page to get the following one.
+     */
+    @GetMapping("/approved/page")
+    public CursorPage<HostelDTO> getApprovedHostelsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return hostelService.getApprovedHostelsPage(cursor, size);
+    }
+
+    /**
+     * Retrieves one page of pending hostels, oldest first.
+     */
+    @GetMapping("/pending/page")
+    public CursorPage<HostelDTO> getPendingHostelsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return hostelService.getPendingHostelListingsPage(cursor, size);
+    }
+
+    /**
+     * Searches approved hostels by filter, e.g. ?city=Pune&maxRent=8000&wifi=true&roomCapacity=2.
+     * Returns one page of matches in hostel ID order, the total number of matches, and
+     * per-value counts for city, locality, room capacity and facilities across all matches.
+     */
+    @GetMapping("/search")
+    public HostelSearchResult searchHostels(
+            HostelSearchQuery query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return hostelService.searchHostels(query, cursor, size);
+    }
+
+    /**
+     * Finds approved hostels near a point, nearest first,
+     * e.g. ?lat=18.5204&lon=73.8567&radiusKm=2&minRating=4.
+     */
+    @GetMapping("/search/nearby")
+    public List<NearbyHostelDTO> findNearbyHostels(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "2") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Double minRating) {
+
+        return hostelService.findNearbyHostels(lat, lon, radiusKm, limit, minRating);
+    }
+
+    /**
+     * Autocomplete for hostel names, localities and landmarks, e.g. ?q=koth.
+     * Matches the start of any word and ranks by rating count.
+     */
+    @GetMapping("/suggest")
+    public List<SuggestionDTO> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return hostelService.suggest(q, limit);
     }
 
     // ========== Review Reply Endpoints ==========
@@ -84,6 +166,15 @@ public class HostelController {
         return ResponseEntity.ok(reply);
     }
 
+    /**
+     * Retrieves the replies for several ratings in one call, e.g. ?ids=4,8,15.
+     * Returns a map from rating ID to reply; ratings without a reply are left out.
+     */
+    @GetMapping("/ratings/replies")
+    public Map<Long, HostelReviewReply> getRepliesForRatings(@RequestParam List<Long> ids) {
+        return ratingService.getRepliesForRatings(ids);
+    }
+
     /**
      * Deletes a reply to a rating.
      */
@@ -98,12 +189,19 @@ public class HostelController {
     /**
      * Retrieves all approved hostels ranked by Bayesian average.
      * Hostels with higher quality and quantity of ratings rank higher.
+     * Optional criterion weights (cleanliness, foodQuality, safety, location, affordability)
+     * produce a personalised ranking, e.g. ?safety=0.4&affordability=0.3;
+     * decayed=true favours recent ratings over old ones; categoryId ranks within one category;
+     * strategy=bayesian|wilson|dirichlet overrides the configured scoring rule. Dirichlet needs
+     * per-hostel score variance, so weighted and decayed rankings reject it when named and
+     * use bayesian when it is only the configured default.
      *
+     * @param query Optional ranking options
      * @return List of ranked hostels sorted by Bayesian average (descending)
      */
     @GetMapping("/ranked")
-    public ResponseEntity<List<RankedHostelDTO>> getRankedHostels() {
-        List<RankedHostelDTO> ranked = rankingService.getRankedHostels();
+    public ResponseEntity<List<RankedHostelDTO>> getRankedHostels(RankingQuery query) {
+        List<RankedHostelDTO> ranked = rankingService.getRankedHostels(query);
         return ResponseEntity.ok(ranked);
     }
 
@@ -111,13 +209,35 @@ public class HostelController {
      * Retrieves top N ranked hostels.
      *
      * @param limit Number of top hostels to retrieve (default: 10)
+     * @param query Optional ranking options
      * @return List of top N ranked hostels
      */
     @GetMapping("/ranked/top")
     public ResponseEntity<List<RankedHostelDTO>> getTopRankedHostels(
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            RankingQuery query) {
         
-        List<RankedHostelDTO> topRanked = rankingService.getTopRankedHostels(limit);
+        List<RankedHostelDTO> topRanked = rankingService.getTopRankedHostels(limit, query);
         return ResponseEntity.ok(topRanked);
     }
+
+    /**
+     * Retrieves one page of the ranking, using keyset pagination.
+     * Accepts the same ranking options as /ranked; pass the nextCursor of the
+     * previous page (with unchanged options) to get the following one.
+     *
+     * @param cursor Cursor from the previous page (omit for the first page)
+     * @param size Number of hostels per page (default: 20)
+     * @param query Optional ranking options
+     * @return The page of ranked hostels and the cursor for the next page
+     */
+    @GetMapping("/ranked/page")
+    public ResponseEntity<CursorPage<RankedHostelDTO>> getRankedHostelsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            RankingQuery query) {
+
+        CursorPage<RankedHostelDTO> page = rankingService.getRankedHostelsPage(query, cursor, size);
+        return ResponseEntity.ok(page);
+    }
 }
@@ -3,9 +3,12 @@ package com.cdac.hostel.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -13,6 +16,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.cdac.hostel.dto.MultiCriteriaRatingRequest;
 import com.cdac.hostel.dto.RatingDTO;
+import com.cdac.hostel.dto.RatingDistributionDTO;
+import com.cdac.hostel.dto.RatingFeedPage;
+import com.cdac.hostel.dto.ReviewSearchResult;
 import com.cdac.hostel.model.HostelRating;
 import com.cdac.hostel.service.HostelRatingService;
 
@@ -24,13 +30,26 @@ public class HostelRatingController {
     private HostelRatingService ratingService;
 
     //1.Rating a Hostel -- Post Method
+    // 202 Accepted in write-behind mode: the rating has its ID but is not yet inserted
     @PostMapping("/{hostelId}/rate")
-    public HostelRating rateHostel(
+    public ResponseEntity<HostelRating> rateHostel(
             @PathVariable Long hostelId,
             @RequestParam Long userId,
             @RequestBody MultiCriteriaRatingRequest request) {
 
-        return ratingService.rateHostel(hostelId, userId, request);
+        HostelRating rating = ratingService.rateHostel(hostelId, userId, request);
+        HttpStatus status = ratingService.isWriteBehind() ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(rating);
+    }
+
+    // 1b. Editing the caller's own rating -- Put Method
+    @PutMapping("/{hostelId}/ratings/mine")
+    public HostelRating updateMyRating(
+            @PathVariable Long hostelId,
+            @RequestParam Long userId,
+            @RequestBody MultiCriteriaRatingRequest request) {
+
+        return ratingService.updateRating(hostelId, userId, request);
     }
     
     
@@ -42,6 +61,20 @@ public class HostelRatingController {
         return ratingService.getRatingsByHostel(hostelId);
     }
 
+ // 2b. PAGINATED RATINGS FEED (sort = newest | highest | lowest | criterion),
+ //     includeReplies=true embeds the page's replies keyed by ratingId
+    @GetMapping("/{hostelId}/ratings/page")
+    public RatingFeedPage getRatingsPage(
+            @PathVariable Long hostelId,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String criterion,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeReplies) {
+
+        return ratingService.getRatingsFeed(hostelId, sort, criterion, cursor, size, includeReplies);
+    }
+
 	
 	
 	  // 3️ VIEW AVERAGE / SUMMARY RATING OF A HOSTEL
@@ -51,6 +84,32 @@ public class HostelRatingController {
 	  
 	  return ratingService.getRatingSummary(hostelId); 
 	  }
+
+    // 4. VIEW STAR DISTRIBUTION (1-5 star vote counts per criterion)
+    @GetMapping("/{hostelId}/ratings/distribution")
+    public RatingDistributionDTO getRatingDistribution(@PathVariable Long hostelId) {
+
+        return ratingService.getRatingDistribution(hostelId);
+    }
+
+    // 5. SEARCH REVIEW TEXT OF A HOSTEL (BM25 relevance)
+    @GetMapping("/{hostelId}/ratings/search")
+    public List<ReviewSearchResult> searchHostelReviews(
+            @PathVariable Long hostelId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ratingService.searchReviews(q, hostelId, limit);
+    }
+
+    // 6. SEARCH REVIEW TEXT ACROSS ALL HOSTELS
+    @GetMapping("/ratings/search")
+    public List<ReviewSearchResult> searchReviews(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ratingService.searchReviews(q, null, limit);
+    }
 	 
 	 
     
@@ -1,15 +1,24 @@
 package com.cdac.hostel.controller;
 
  
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import com.cdac.hostel.dto.AggregateVerificationReport;
+import com.cdac.hostel.dto.CursorPage;
 import com.cdac.hostel.model.Hostel;
 import com.cdac.hostel.model.HostelCategory;
 import com.cdac.hostel.service.CategoryService;
+import com.cdac.hostel.service.ExportService;
 import com.cdac.hostel.service.HostelService;
+import com.cdac.hostel.service.RatingAggregateService;
+import com.cdac.hostel.service.RatingIngestionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * REST controller for internal admin operations.
@@ -26,6 +35,15 @@ public class InternalHostelController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private RatingAggregateService aggregateService;
+
+    @Autowired
+    private RatingIngestionService ingestionService;
+
+    @Autowired
+    private ExportService exportService;
+
     // ========== Hostel Admin Operations ==========
 
     /**
@@ -39,6 +57,34 @@ public class InternalHostelController {
         return hostelService.getPendingHostels();
     }
 
+    /**
+     * Retrieves one page of pending hostels, oldest first.
+     * Called by Admin Service; pass the nextCursor of the previous page to continue.
+     *
+     * @param cursor Cursor from the previous page (omit for the first page)
+     * @param size Number of hostels per page (default: 20)
+     * @return The page of pending hostels and the cursor for the next page
+     */
+    @GetMapping("/pending/page")
+    public CursorPage<Hostel> getPendingHostelsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return hostelService.getPendingHostelsPage(cursor, size);
+    }
+
+    /**
+     * Retrieves a single hostel with all its details, whatever its status.
+     * Called by Admin Service to review a submission or a rejected hostel.
+     *
+     * @param hostelId The ID of the hostel
+     * @return The hostel entity
+     */
+    @GetMapping("/{hostelId}")
+    public Hostel getHostel(@PathVariable Long hostelId) {
+        return hostelService.getHostel(hostelId);
+    }
+
     /**
      * Approves a pending hostel, making it visible to public users.
      * Called by Admin Service after admin approval.
@@ -103,6 +149,69 @@ public class InternalHostelController {
     public HostelCategory rejectCategory(@PathVariable Long categoryId) {
         return categoryService.rejectCategory(categoryId);
     }
-}
 
+    // ========== Rating Aggregate Maintenance ==========
+
+    /**
+     * Recomputes per-hostel rating aggregates from hostel_ratings and reports drift.
+     * Drifted aggregates are only rewritten when repair is requested.
+     *
+     * @param repair Whether to fix drifted aggregates (default: false)
+     * @return Report listing the drifted hostels
+     */
+    @PostMapping("/ratings/aggregates/verify")
+    public AggregateVerificationReport verifyRatingAggregates(
+            @RequestParam(defaultValue = "false") boolean repair) {
+
+        return aggregateService.verifyAggregates(repair);
+    }
+
+    /**
+     * Recomputes every hostel's rating aggregate from hostel_ratings, including decayed totals.
+     * Run after changing hostel.ranking.decay.half-life-days.
+     *
+     * @return Number of hostels whose aggregates were rebuilt
+     */
+    @PostMapping("/ratings/aggregates/rebuild")
+    public int rebuildRatingAggregates() {
+        return aggregateService.rebuildAll();
+    }
+
+    // ========== Data Export ==========
+
+    /**
+     * Streams all hostels as CSV.
+     * Rows are written as they are read from a database cursor, so the export
+     * starts immediately and uses constant memory whatever the table size.
+     */
+    @GetMapping(value = "/export/hostels", produces = "text/csv")
+    public void exportHostels(HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"hostels.csv\"");
+        exportService.exportHostels(response.getOutputStream());
+    }
+
+    /**
+     * Streams all ratings as CSV, in the same way as the hostel export.
+     */
+    @GetMapping(value = "/export/ratings", produces = "text/csv")
+    public void exportRatings(HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"hostel_ratings.csv\"");
+        exportService.exportRatings(response.getOutputStream());
+    }
 
+    // ========== Bulk Rating Import ==========
+
+    /**
+     * Imports many ratings at once, e.g. when migrating reviews from another system.
+     * The body is a JSON array of BulkRatingRequest records, read incrementally; the response
+     * is a JSON array of BulkRatingResult, one per record in request order, written as each
+     * chunk of records is committed. There is no size limit on the import.
+     */
+    @PostMapping(value = "/ratings/bulk", consumes = "application/json", produces = "application/json")
+    public void importRatings(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        ingestionService.ingest(request.getInputStream(), response.getOutputStream());
+    }
+}
@@ -0,0 +1,20 @@
+package com.cdac.hostel.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing the result of verifying rating aggregates against hostel_ratings.
+ * Lists the hostels whose stored aggregates differ from the recomputed values.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateVerificationReport {
+    private int hostelsChecked;
+    private List<Long> driftedHostelIds;
+    private boolean repaired;
+}
@@ -0,0 +1,16 @@
+package com.cdac.hostel.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * One record of a bulk rating import: a rating request plus the hostel and user it belongs to.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class BulkRatingRequest extends MultiCriteriaRatingRequest {
+    private Long hostelId;
+    private Long userId;
+}
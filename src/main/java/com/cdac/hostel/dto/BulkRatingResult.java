@@ -0,0 +1,30 @@
+package com.cdac.hostel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one record of a bulk rating import, in the same position as the request record.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRatingResult {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        USER_NOT_FOUND,
+        DUPLICATE,
+        FAILED
+    }
+
+    private int index;
+    private Long hostelId;
+    private Long userId;
+    private Status status;
+    // ID of the created rating, null unless CREATED
+    private Long ratingId;
+    private String message;
+}
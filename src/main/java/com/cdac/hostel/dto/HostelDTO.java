@@ -2,17 +2,32 @@ package com.cdac.hostel.dto;
 
  
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import com.cdac.hostel.model.Hostel;
+
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+/**
+ * Listing view of a hostel: the fields a list or card needs plus its rating summary.
+ * Built directly by projection queries that never select the TEXT columns
+ * (description, address, rejection reason) or contact details; the full entity is
+ * only served by the detail endpoint. The in-memory search, geo and autocomplete
+ * indexes hold this view too.
+ */
 @Data
+@NoArgsConstructor
 public class HostelDTO {
 
     private Long hostelId;
     private String hostelName;
-    private String description;
-    private String address;
     private String city;
     private String locality;
+    private String landmark;
+
+    private Double latitude;
+    private Double longitude;
 
     private BigDecimal monthlyRentMin;
     private BigDecimal monthlyRentMax;
@@ -22,6 +37,61 @@ public class HostelDTO {
     private Boolean hasMess;
     private Boolean hasLaundry;
 
+    private Integer roomCapacity;
+
+    private Timestamp createdAt;
+
     private Double overallRating;
     private Long ratingCount;
+
+    /**
+     * Constructor used by the listing projection queries, which join the rating aggregate.
+     * criteriaTotal is the sum of all 5 criteria over all ratings (null for unrated hostels).
+     */
+    public HostelDTO(Long hostelId, String hostelName, String city, String locality, String landmark,
+                     Double latitude, Double longitude, BigDecimal monthlyRentMin, BigDecimal monthlyRentMax,
+                     Boolean hasWifi, Boolean hasAc, Boolean hasMess, Boolean hasLaundry,
+                     Integer roomCapacity, Timestamp createdAt, Long ratingCount, Long criteriaTotal) {
+        this.hostelId = hostelId;
+        this.hostelName = hostelName;
+        this.city = city;
+        this.locality = locality;
+        this.landmark = landmark;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.monthlyRentMin = monthlyRentMin;
+        this.monthlyRentMax = monthlyRentMax;
+        this.hasWifi = hasWifi;
+        this.hasAc = hasAc;
+        this.hasMess = hasMess;
+        this.hasLaundry = hasLaundry;
+        this.roomCapacity = roomCapacity;
+        this.createdAt = createdAt;
+        this.ratingCount = ratingCount != null ? ratingCount : 0L;
+        this.overallRating = this.ratingCount == 0 || criteriaTotal == null
+                ? 0.0 : criteriaTotal / (5.0 * this.ratingCount);
+    }
+
+    /**
+     * Listing view of a hostel entity already in hand (e.g. just approved), with no ratings.
+     */
+    public static HostelDTO of(Hostel hostel) {
+        return new HostelDTO(hostel.getHostelId(), hostel.getHostelName(), hostel.getCity(),
+                hostel.getLocality(), hostel.getLandmark(), hostel.getLatitude(), hostel.getLongitude(),
+                hostel.getMonthlyRentMin(), hostel.getMonthlyRentMax(), hostel.getHasWifi(), hostel.getHasAc(),
+                hostel.getHasMess(), hostel.getHasLaundry(), hostel.getRoomCapacity(), hostel.getCreatedAt(),
+                0L, null);
+    }
+
+    /**
+     * Copy of this listing with a different rating summary; the original is left untouched
+     * so views shared by the in-memory indexes are never modified.
+     */
+    public HostelDTO withRating(double overallRating, long ratingCount) {
+        HostelDTO copy = new HostelDTO(hostelId, hostelName, city, locality, landmark, latitude, longitude,
+                monthlyRentMin, monthlyRentMax, hasWifi, hasAc, hasMess, hasLaundry, roomCapacity, createdAt,
+                ratingCount, null);
+        copy.setOverallRating(overallRating);
+        return copy;
+    }
 }
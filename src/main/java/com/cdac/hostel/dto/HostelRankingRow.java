@@ -0,0 +1,42 @@
+package com.cdac.hostel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Projection of an approved hostel joined with its rating aggregate.
+ * Produced by the single ranking query; hostels without ratings carry zero totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HostelRankingRow {
+    private Long hostelId;
+    private String hostelName;
+    private Long ratingCount;
+    private Long cleanlinessSum;
+    private Long foodQualitySum;
+    private Long safetySum;
+    private Long locationSum;
+    private Long affordabilitySum;
+    private Long criteriaTotalSquaresSum;
+    private Double decayedWeight;
+    private Double decayedScoreSum;
+    private Long decayAnchorMs;
+
+    /**
+     * Average overall rating (mean of the 5 criteria), 0.0 when unrated.
+     */
+    public double getOverallAverage() {
+        long total = cleanlinessSum + foodQualitySum + safetySum + locationSum + affordabilitySum;
+        return ratingCount == 0 ? 0.0 : total / (5.0 * ratingCount);
+    }
+
+    /**
+     * Mean of the squared overall ratings, 0.0 when unrated.
+     */
+    public double getOverallMeanOfSquares() {
+        return ratingCount == 0 ? 0.0 : criteriaTotalSquaresSum / (25.0 * ratingCount);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cdac.hostel.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+/**
+ * Filters for a faceted hostel search, bound from query parameters.
+ * city and locality match case-insensitively; minRent/maxRent select hostels whose
+ * rent range overlaps the given budget; roomCapacity matches exactly.
+ * A facility flag set to true requires the facility and false excludes it;
+ * every filter left out matches all hostels.
+ */
+@Data
+public class HostelSearchQuery {
+    private String city;
+    private String locality;
+
+    private BigDecimal minRent;
+    private BigDecimal maxRent;
+
+    private Integer roomCapacity;
+
+    private Boolean wifi;
+    private Boolean ac;
+    private Boolean mess;
+    private Boolean laundry;
+}
@@ -0,0 +1,33 @@
+package com.cdac.hostel.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One page of a faceted hostel search.
+ * total is the number of hostels matching the filters across all pages, and facets
+ * maps each facet (city, locality, roomCapacity, facility) to the number of matching
+ * hostels per value, so clients can show refinement options without another request.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class HostelSearchResult extends CursorPage<HostelDTO> {
+
+    private long total;
+
+    private Map<String, Map<String, Integer>> facets;
+
+    public HostelSearchResult(List<HostelDTO> items, String nextCursor, long total,
+                              Map<String, Map<String, Integer>> facets) {
+        super(items, nextCursor);
+        this.total = total;
+        this.facets = facets;
+    }
+}
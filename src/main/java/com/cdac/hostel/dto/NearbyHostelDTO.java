@@ -0,0 +1,17 @@
+package com.cdac.hostel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A hostel found by proximity search, with its distance from the search centre.
+ * The listing's rating summary is taken from the current ranking.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyHostelDTO {
+    private HostelDTO hostel;
+    private double distanceKm;
+}
@@ -0,0 +1,48 @@
+package com.cdac.hostel.dto;
+
+import lombok.Data;
+
+/**
+ * Options for a ranking request, bound from query parameters.
+ * Per-criterion weights (e.g. ?safety=0.4&affordability=0.3) give a personalised ranking;
+ * criteria left out get weight 0, and when no weight is given at all the default
+ * equal-weight ranking is used. decayed=true ranks by time-decayed ratings instead.
+ * categoryId restricts the ranking to hostels in one category, and strategy picks the
+ * scoring rule (bayesian, wilson, dirichlet) instead of the configured default.
+ */
+@Data
+public class RankingQuery {
+    private Double cleanliness;
+    private Double foodQuality;
+    private Double safety;
+    private Double location;
+    private Double affordability;
+
+    private boolean decayed;
+
+    private Long categoryId;
+
+    private String strategy;
+
+    /**
+     * Whether any criterion weight was supplied.
+     */
+    public boolean hasWeights() {
+        return cleanliness != null || foodQuality != null || safety != null
+                || location != null || affordability != null;
+    }
+
+    /**
+     * Weights as an array indexed by RatingCriterion ordinal, missing weights as 0.
+     */
+    public double[] weightArray() {
+        return new double[] {
+            valueOf(cleanliness), valueOf(foodQuality), valueOf(safety),
+            valueOf(location), valueOf(affordability)
+        };
+    }
+
+    private static double valueOf(Double weight) {
+        return weight != null ? weight : 0.0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.cdac.hostel.dto;
+
+import lombok.Data;
+
+/**
+ * DTO carrying the star distribution of a hostel's ratings.
+ * Each criterion holds 5 counts: the number of 1, 2, 3, 4 and 5 star votes, in that order.
+ */
+@Data
+public class RatingDistributionDTO {
+
+    private Long hostelId;
+    private Long ratingCount;
+
+    private long[] cleanliness;
+    private long[] foodQuality;
+    private long[] safety;
+    private long[] location;
+    private long[] affordability;
+}
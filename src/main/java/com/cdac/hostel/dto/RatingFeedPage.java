@@ -0,0 +1,30 @@
+package com.cdac.hostel.dto;
+
+import java.util.Map;
+
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.model.HostelReviewReply;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One page of a hostel's ratings feed.
+ * When replies are requested, replies maps the ID of each rating on the page that has a reply
+ * to that reply, fetched with one query for the whole page; otherwise it is null.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class RatingFeedPage extends CursorPage<HostelRating> {
+
+    private Map<Long, HostelReviewReply> replies;
+
+    public RatingFeedPage(CursorPage<HostelRating> page, Map<Long, HostelReviewReply> replies) {
+        super(page.getItems(), page.getNextCursor());
+        this.replies = replies;
+    }
+}
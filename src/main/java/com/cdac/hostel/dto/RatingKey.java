@@ -0,0 +1,16 @@
+package com.cdac.hostel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The (hostelId, userId) pair that identifies a rating; a user may rate each hostel once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingKey {
+    private Long hostelId;
+    private Long userId;
+}
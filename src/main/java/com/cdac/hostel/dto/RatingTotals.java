@@ -0,0 +1,85 @@
+package com.cdac.hostel.dto;
+
+import com.cdac.hostel.model.RatingCriterion;
+
+import lombok.Getter;
+
+/**
+ * Immutable running totals of all ratings across all hostels.
+ * Holds the rating count and the sum of each of the 5 criteria, from which the
+ * global (prior) averages used by ranking are derived.
+ * Replaced as a whole on every update so readers always see a consistent set of totals.
+ */
+@Getter
+public final class RatingTotals {
+
+    public static final RatingTotals EMPTY = new RatingTotals(0L, 0L, 0L, 0L, 0L, 0L);
+
+    // Prior mean used when no ratings exist yet (middle of the 1-5 scale)
+    private static final double DEFAULT_AVERAGE = 3.0;
+
+    private final long ratingCount;
+    private final long cleanlinessSum;
+    private final long foodQualitySum;
+    private final long safetySum;
+    private final long locationSum;
+    private final long affordabilitySum;
+
+    /**
+     * Constructor used by the JPQL query summing all hostel aggregates.
+     * SUM over an empty table yields null, which is treated as zero.
+     */
+    public RatingTotals(Long ratingCount, Long cleanlinessSum, Long foodQualitySum,
+                 Long safetySum, Long locationSum, Long affordabilitySum) {
+        this.ratingCount = ratingCount != null ? ratingCount : 0L;
+        this.cleanlinessSum = cleanlinessSum != null ? cleanlinessSum : 0L;
+        this.foodQualitySum = foodQualitySum != null ? foodQualitySum : 0L;
+        this.safetySum = safetySum != null ? safetySum : 0L;
+        this.locationSum = locationSum != null ? locationSum : 0L;
+        this.affordabilitySum = affordabilitySum != null ? affordabilitySum : 0L;
+    }
+
+    /**
+     * Returns new totals with the given delta applied.
+     */
+    public RatingTotals plus(long countDelta, long cleanliness, long foodQuality,
+                      long safety, long location, long affordability) {
+        return new RatingTotals(ratingCount + countDelta,
+                cleanlinessSum + cleanliness,
+                foodQualitySum + foodQuality,
+                safetySum + safety,
+                locationSum + location,
+                affordabilitySum + affordability);
+    }
+
+    /**
+     * Global average overall rating (mean of the 5 criteria over all ratings).
+     */
+    public double getOverallAverage() {
+        if (ratingCount == 0) {
+            return DEFAULT_AVERAGE;
+        }
+        long total = cleanlinessSum + foodQualitySum + safetySum + locationSum + affordabilitySum;
+        return total / (5.0 * ratingCount);
+    }
+
+    /**
+     * Sum of one criterion over all ratings.
+     */
+    public long getCriterionSum(RatingCriterion criterion) {
+        switch (criterion) {
+            case CLEANLINESS: return cleanlinessSum;
+            case FOOD_QUALITY: return foodQualitySum;
+            case SAFETY: return safetySum;
+            case LOCATION: return locationSum;
+            default: return affordabilitySum;
+        }
+    }
+
+    /**
+     * Global average of one criterion over all ratings.
+     */
+    public double getCriterionAverage(RatingCriterion criterion) {
+        return ratingCount == 0 ? DEFAULT_AVERAGE : (double) getCriterionSum(criterion) / ratingCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cdac.hostel.dto;
+
+import com.cdac.hostel.model.HostelRating;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One review search hit: the matching rating and its BM25 relevance score.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewSearchResult {
+    private HostelRating rating;
+    private double score;
+}
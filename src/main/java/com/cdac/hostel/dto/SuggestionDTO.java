@@ -0,0 +1,28 @@
+package com.cdac.hostel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One autocomplete suggestion.
+ * Hostel name suggestions carry the hostel's ID; locality and landmark suggestions
+ * combine every approved hostel with that value, so hostelId is null for them and
+ * ratingCount is the total over those hostels.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+
+    public enum Type {
+        HOSTEL,
+        LOCALITY,
+        LANDMARK
+    }
+
+    private String text;
+    private Type type;
+    private Long hostelId;
+    private long ratingCount;
+}
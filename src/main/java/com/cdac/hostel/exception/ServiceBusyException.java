@@ -0,0 +1,12 @@
+package com.cdac.hostel.exception;
+
+/**
+ * Exception thrown when the service is temporarily unable to accept work,
+ * e.g. when the rating write-behind queue is full. Clients should retry later.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
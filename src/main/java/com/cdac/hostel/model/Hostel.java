@@ -12,6 +12,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Data;
 
@@ -22,7 +23,13 @@ import lombok.Data;
  */
 @Entity
 @Data
-@Table(name = "hostels")
+@Table(
+    name = "hostels",
+    indexes = @Index(
+        name = "idx_hostels_status_created",
+        columnList = "status, createdAt, hostelId"
+    )
+)
 public class Hostel {
 
     @Id
@@ -51,6 +58,10 @@ public class Hostel {
     @Column(length = 500)
     private String mapLocation;
 
+    // Coordinates, parsed from mapLocation when not submitted directly
+    private Double latitude;
+    private Double longitude;
+
     @Column(length = 50)
     private String distanceFromCdac;
 
@@ -10,6 +10,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
@@ -27,12 +31,29 @@ import lombok.Data;
     uniqueConstraints = @UniqueConstraint(
         name = "unique_user_hostel_rating",
         columnNames = {"hostelId", "userId"}
-    )
+    ),
+    // One index per ratings feed order, so every sort reads a page straight off an index
+    indexes = {
+        @Index(name = "idx_hostel_ratings_hostel_created", columnList = "hostelId, createdAt, ratingId"),
+        @Index(name = "idx_hostel_ratings_hostel_overall", columnList = "hostelId, overallScore, ratingId"),
+        @Index(name = "idx_hostel_ratings_hostel_cleanliness", columnList = "hostelId, cleanlinessRating, ratingId"),
+        @Index(name = "idx_hostel_ratings_hostel_food", columnList = "hostelId, foodQualityRating, ratingId"),
+        @Index(name = "idx_hostel_ratings_hostel_safety", columnList = "hostelId, safetyRating, ratingId"),
+        @Index(name = "idx_hostel_ratings_hostel_location", columnList = "hostelId, locationRating, ratingId"),
+        @Index(name = "idx_hostel_ratings_hostel_affordability", columnList = "hostelId, affordabilityRating, ratingId")
+    }
 )
 public class HostelRating {
 
+    // Number of rating IDs reserved per round trip to the ID sequence
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence-allocated in blocks so inserts can be JDBC-batched (IDENTITY disables batching).
+    // MySQL has no sequences, so Hibernate emulates this one with the hostel_ratings_seq table.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hostel_ratings_seq")
+    @SequenceGenerator(name = "hostel_ratings_seq", sequenceName = "hostel_ratings_seq",
+                       allocationSize = HostelRating.ID_ALLOCATION_SIZE)
     private Long ratingId;
 
     @Column(nullable = false)
@@ -57,6 +78,13 @@ public class HostelRating {
     @Column(nullable = false)
     private Integer affordabilityRating;
 
+    // Sum of the 5 criteria (5-25), the ratings feed's overall sort key.
+    // A stored generated column, so MySQL keeps it and its index current for every write path.
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "TINYINT GENERATED ALWAYS AS (cleanliness_rating + food_quality_rating + " +
+                               "safety_rating + location_rating + affordability_rating) STORED")
+    private Integer overallScore;
+
     @Column(columnDefinition = "TEXT")
     private String reviewText;
 
@@ -68,5 +96,14 @@ public class HostelRating {
     @UpdateTimestamp
     @Column(nullable = false)
     private Timestamp updatedAt;
+
+    /**
+     * Mirrors the generated overallScore in memory, since it is never read back after a write.
+     */
+    @PrePersist
+    @PreUpdate
+    void computeOverallScore() {
+        overallScore = cleanlinessRating + foodQualityRating + safetyRating + locationRating + affordabilityRating;
+    }
 }
 
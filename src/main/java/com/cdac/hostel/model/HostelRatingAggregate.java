@@ -0,0 +1,126 @@
+package com.cdac.hostel.model;
+
+import java.sql.Timestamp;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity holding the running rating totals of a single hostel.
+ * One row per rated hostel with the rating count, the sum of each of the 5 criteria
+ * and the sum of squared criteria totals,
+ * maintained atomically on every rating write so that averages and rankings can be
+ * read without scanning hostel_ratings. Also carries exponentially time-decayed totals
+ * for the decayed ranking mode.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "hostel_rating_aggregates")
+public class HostelRatingAggregate {
+
+    @Id
+    private Long hostelId;
+
+    @Column(nullable = false)
+    private Long ratingCount = 0L;
+
+    // Per-criterion sums of the 1-5 star scores
+    @Column(nullable = false)
+    private Long cleanlinessSum = 0L;
+
+    @Column(nullable = false)
+    private Long foodQualitySum = 0L;
+
+    @Column(nullable = false)
+    private Long safetySum = 0L;
+
+    @Column(nullable = false)
+    private Long locationSum = 0L;
+
+    @Column(nullable = false)
+    private Long affordabilitySum = 0L;
+
+    // Sum over ratings of the squared criteria total, for variance-aware ranking strategies
+    @Column(nullable = false)
+    private Long criteriaTotalSquaresSum = 0L;
+
+    // Time-decayed totals, both expressed as of decayAnchorMs:
+    // decayedWeight = sum of exp(-lambda * age) over ratings,
+    // decayedScoreSum = the same weights applied to each rating's overall score.
+    // Rescaled to the write time on every update, so reads never rescan history.
+    @Column(nullable = false)
+    private Double decayedWeight = 0.0;
+
+    @Column(nullable = false)
+    private Double decayedScoreSum = 0.0;
+
+    @Column(nullable = false)
+    private Long decayAnchorMs = 0L;
+
+    @UpdateTimestamp
+    private Timestamp updatedAt;
+
+    /**
+     * Constructor used by the grouped JPQL query that recomputes aggregates from hostel_ratings.
+     */
+    public HostelRatingAggregate(Long hostelId, Long ratingCount, Long cleanlinessSum,
+                                 Long foodQualitySum, Long safetySum, Long locationSum,
+                                 Long affordabilitySum, Long criteriaTotalSquaresSum) {
+        this.hostelId = hostelId;
+        this.ratingCount = ratingCount;
+        this.cleanlinessSum = cleanlinessSum;
+        this.foodQualitySum = foodQualitySum;
+        this.safetySum = safetySum;
+        this.locationSum = locationSum;
+        this.affordabilitySum = affordabilitySum;
+        this.criteriaTotalSquaresSum = criteriaTotalSquaresSum;
+    }
+
+    /**
+     * Sum of all 5 criteria across all ratings of this hostel.
+     */
+    public long getCriteriaTotal() {
+        return cleanlinessSum + foodQualitySum + safetySum + locationSum + affordabilitySum;
+    }
+
+    /**
+     * Sum of one criterion across all ratings of this hostel.
+     */
+    public long getCriterionSum(RatingCriterion criterion) {
+        switch (criterion) {
+            case CLEANLINESS: return cleanlinessSum;
+            case FOOD_QUALITY: return foodQualitySum;
+            case SAFETY: return safetySum;
+            case LOCATION: return locationSum;
+            default: return affordabilitySum;
+        }
+    }
+
+    /**
+     * Average overall rating (mean of the 5 criteria, averaged over all ratings).
+     * Returns 0.0 when the hostel has no ratings.
+     */
+    public double getOverallAverage() {
+        return ratingCount == 0 ? 0.0 : getCriteriaTotal() / (5.0 * ratingCount);
+    }
+
+    /**
+     * Whether this aggregate holds the same totals as another one (timestamps ignored).
+     */
+    public boolean sameTotalsAs(HostelRatingAggregate other) {
+        return ratingCount.equals(other.ratingCount)
+                && cleanlinessSum.equals(other.cleanlinessSum)
+                && foodQualitySum.equals(other.foodQualitySum)
+                && safetySum.equals(other.safetySum)
+                && locationSum.equals(other.locationSum)
+                && affordabilitySum.equals(other.affordabilitySum)
+                && criteriaTotalSquaresSum.equals(other.criteriaTotalSquaresSum);
+    }
+}
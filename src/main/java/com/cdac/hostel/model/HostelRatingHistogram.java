@@ -0,0 +1,142 @@
+package com.cdac.hostel.model;
+
+import java.sql.Timestamp;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Entity holding the star distribution of a single hostel's ratings.
+ * 25 counters per hostel: for each of the 5 criteria, the number of 1-5 star votes.
+ * Maintained atomically on every rating write alongside HostelRatingAggregate, so the
+ * distribution is read as one fixed-size row instead of a GROUP BY over hostel_ratings.
+ */
+@Entity
+@Data
+@Table(name = "hostel_rating_histograms")
+public class HostelRatingHistogram {
+
+    @Id
+    private Long hostelId;
+
+    // cleanliness: votes per star level 1-5
+    @Column(nullable = false)
+    private Long cleanliness1 = 0L;
+
+    @Column(nullable = false)
+    private Long cleanliness2 = 0L;
+
+    @Column(nullable = false)
+    private Long cleanliness3 = 0L;
+
+    @Column(nullable = false)
+    private Long cleanliness4 = 0L;
+
+    @Column(nullable = false)
+    private Long cleanliness5 = 0L;
+
+    // foodQuality: votes per star level 1-5
+    @Column(nullable = false)
+    private Long foodQuality1 = 0L;
+
+    @Column(nullable = false)
+    private Long foodQuality2 = 0L;
+
+    @Column(nullable = false)
+    private Long foodQuality3 = 0L;
+
+    @Column(nullable = false)
+    private Long foodQuality4 = 0L;
+
+    @Column(nullable = false)
+    private Long foodQuality5 = 0L;
+
+    // safety: votes per star level 1-5
+    @Column(nullable = false)
+    private Long safety1 = 0L;
+
+    @Column(nullable = false)
+    private Long safety2 = 0L;
+
+    @Column(nullable = false)
+    private Long safety3 = 0L;
+
+    @Column(nullable = false)
+    private Long safety4 = 0L;
+
+    @Column(nullable = false)
+    private Long safety5 = 0L;
+
+    // location: votes per star level 1-5
+    @Column(nullable = false)
+    private Long location1 = 0L;
+
+    @Column(nullable = false)
+    private Long location2 = 0L;
+
+    @Column(nullable = false)
+    private Long location3 = 0L;
+
+    @Column(nullable = false)
+    private Long location4 = 0L;
+
+    @Column(nullable = false)
+    private Long location5 = 0L;
+
+    // affordability: votes per star level 1-5
+    @Column(nullable = false)
+    private Long affordability1 = 0L;
+
+    @Column(nullable = false)
+    private Long affordability2 = 0L;
+
+    @Column(nullable = false)
+    private Long affordability3 = 0L;
+
+    @Column(nullable = false)
+    private Long affordability4 = 0L;
+
+    @Column(nullable = false)
+    private Long affordability5 = 0L;
+
+    @UpdateTimestamp
+    private Timestamp updatedAt;
+
+    /**
+     * Vote counts of one criterion, indexed by star level minus one.
+     */
+    public long[] getCounts(RatingCriterion criterion) {
+        switch (criterion) {
+            case CLEANLINESS: return new long[] {cleanliness1, cleanliness2, cleanliness3, cleanliness4, cleanliness5};
+            case FOOD_QUALITY: return new long[] {foodQuality1, foodQuality2, foodQuality3, foodQuality4, foodQuality5};
+            case SAFETY: return new long[] {safety1, safety2, safety3, safety4, safety5};
+            case LOCATION: return new long[] {location1, location2, location3, location4, location5};
+            default: return new long[] {affordability1, affordability2, affordability3, affordability4, affordability5};
+        }
+    }
+
+    /**
+     * Whether the counters agree with an aggregate of the same hostel: for every criterion
+     * the votes must add up to the rating count and their star-weighted sum to the criterion sum.
+     */
+    public boolean isConsistentWith(HostelRatingAggregate aggregate) {
+        for (RatingCriterion criterion : RatingCriterion.values()) {
+            long[] counts = getCounts(criterion);
+            long votes = 0;
+            long stars = 0;
+            for (int i = 0; i < counts.length; i++) {
+                votes += counts[i];
+                stars += (i + 1) * counts[i];
+            }
+            if (votes != aggregate.getRatingCount() || stars != aggregate.getCriterionSum(criterion)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
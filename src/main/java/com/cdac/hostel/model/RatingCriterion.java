@@ -0,0 +1,13 @@
+package com.cdac.hostel.model;
+
+/**
+ * The 5 criteria every hostel rating is scored on.
+ * The declaration order is the fixed index used by per-criterion arrays.
+ */
+public enum RatingCriterion {
+    CLEANLINESS,
+    FOOD_QUALITY,
+    SAFETY,
+    LOCATION,
+    AFFORDABILITY
+}
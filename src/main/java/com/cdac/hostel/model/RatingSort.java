@@ -0,0 +1,14 @@
+package com.cdac.hostel.model;
+
+/**
+ * Orders available for a hostel's ratings feed.
+ * NEWEST pages on (createdAt, ratingId); the score orders page on (score, ratingId),
+ * where CRITERION ranks by a single chosen criterion instead of the overall score.
+ * LOWEST reads the overall score index in ascending order, so its ties go to the older rating.
+ */
+public enum RatingSort {
+    NEWEST,
+    HIGHEST,
+    LOWEST,
+    CRITERION
+}
@@ -0,0 +1,132 @@
+package com.cdac.hostel.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cdac.hostel.dto.RatingTotals;
+import com.cdac.hostel.model.HostelRatingAggregate;
+
+/**
+ * Repository interface for HostelRatingAggregate entity operations.
+ * Provides the atomic upsert used on every rating write and the queries
+ * used to rebuild aggregates from hostel_ratings.
+ */
+@Repository
+public interface HostelRatingAggregateRepository extends JpaRepository<HostelRatingAggregate, Long> {
+
+    /**
+     * Atomically adds a delta to a hostel's aggregate row, creating it if missing.
+     * A single INSERT ... ON DUPLICATE KEY UPDATE statement, so concurrent ratings
+     * of the same hostel never lose updates.
+     * The decayed totals are first decayed from their anchor to the write time, then
+     * the decayed delta (valued as of nowMs) is added and the anchor moved forward.
+     * MySQL applies the assignments left to right, so decay_anchor_ms must stay last.
+     *
+     * @param hostelId The ID of the hostel
+     * @param countDelta Change in rating count (1 for a new rating)
+     * @param cleanliness Change in cleanliness sum
+     * @param foodQuality Change in food quality sum
+     * @param safety Change in safety sum
+     * @param location Change in location sum
+     * @param affordability Change in affordability sum
+     * @param criteriaTotalSquares Change in the sum of squared criteria totals
+     * @param decayWeight Change in decayed weight, valued as of nowMs
+     * @param decayScore Change in decayed score sum, valued as of nowMs
+     * @param nowMs Write time in epoch milliseconds
+     * @param lambda Decay rate per millisecond
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO hostel_rating_aggregates " +
+           "(hostel_id, rating_count, cleanliness_sum, food_quality_sum, safety_sum, " +
+           "location_sum, affordability_sum, criteria_total_squares_sum, " +
+           "decayed_weight, decayed_score_sum, decay_anchor_ms, updated_at) " +
+           "VALUES (:hostelId, :countDelta, :cleanliness, :foodQuality, :safety, " +
+           ":location, :affordability, :criteriaTotalSquares, :decayWeight, :decayScore, :nowMs, NOW()) " +
+           "ON DUPLICATE KEY UPDATE " +
+           "rating_count = rating_count + :countDelta, " +
+           "cleanliness_sum = cleanliness_sum + :cleanliness, " +
+           "food_quality_sum = food_quality_sum + :foodQuality, " +
+           "safety_sum = safety_sum + :safety, " +
+           "location_sum = location_sum + :location, " +
+           "affordability_sum = affordability_sum + :affordability, " +
+           "criteria_total_squares_sum = criteria_total_squares_sum + :criteriaTotalSquares, " +
+           "decayed_weight = decayed_weight * EXP(-:lambda * (GREATEST(decay_anchor_ms, :nowMs) - decay_anchor_ms)) " +
+           "+ :decayWeight * EXP(-:lambda * (GREATEST(decay_anchor_ms, :nowMs) - :nowMs)), " +
+           "decayed_score_sum = decayed_score_sum * EXP(-:lambda * (GREATEST(decay_anchor_ms, :nowMs) - decay_anchor_ms)) " +
+           "+ :decayScore * EXP(-:lambda * (GREATEST(decay_anchor_ms, :nowMs) - :nowMs)), " +
+           "decay_anchor_ms = GREATEST(decay_anchor_ms, :nowMs), " +
+           "updated_at = NOW()",
+           nativeQuery = true)
+    void applyDelta(Long hostelId, long countDelta, long cleanliness, long foodQuality,
+                    long safety, long location, long affordability, long criteriaTotalSquares,
+                    double decayWeight, double decayScore, long nowMs, double lambda);
+
+    /**
+     * Recomputes the aggregate of a single hostel from hostel_ratings in one statement.
+     * Used by the rebuild job to repair drifted rows; decayed totals are anchored at the
+     * database's current time.
+     *
+     * @param hostelId The ID of the hostel
+     * @param lambda Decay rate per millisecond
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO hostel_rating_aggregates " +
+           "(hostel_id, rating_count, cleanliness_sum, food_quality_sum, safety_sum, " +
+           "location_sum, affordability_sum, criteria_total_squares_sum, " +
+           "decayed_weight, decayed_score_sum, decay_anchor_ms, updated_at) " +
+           "SELECT r.hostel_id, COUNT(*), SUM(r.cleanliness_rating), SUM(r.food_quality_rating), " +
+           "SUM(r.safety_rating), SUM(r.location_rating), SUM(r.affordability_rating), " +
+           "SUM((r.cleanliness_rating + r.food_quality_rating + r.safety_rating + " +
+           "r.location_rating + r.affordability_rating) * (r.cleanliness_rating + " +
+           "r.food_quality_rating + r.safety_rating + r.location_rating + r.affordability_rating)), " +
+           "SUM(EXP(-:lambda * GREATEST(0, n.now_ms - UNIX_TIMESTAMP(r.created_at) * 1000))), " +
+           "SUM(EXP(-:lambda * GREATEST(0, n.now_ms - UNIX_TIMESTAMP(r.created_at) * 1000)) * " +
+           "(r.cleanliness_rating + r.food_quality_rating + r.safety_rating + " +
+           "r.location_rating + r.affordability_rating) / 5.0), " +
+           "MAX(n.now_ms), NOW() " +
+           "FROM hostel_ratings r CROSS JOIN (SELECT ROUND(UNIX_TIMESTAMP(NOW(3)) * 1000) AS now_ms) n " +
+           "WHERE r.hostel_id = :hostelId GROUP BY r.hostel_id " +
+           "ON DUPLICATE KEY UPDATE " +
+           "rating_count = VALUES(rating_count), " +
+           "cleanliness_sum = VALUES(cleanliness_sum), " +
+           "food_quality_sum = VALUES(food_quality_sum), " +
+           "safety_sum = VALUES(safety_sum), " +
+           "location_sum = VALUES(location_sum), " +
+           "affordability_sum = VALUES(affordability_sum), " +
+           "criteria_total_squares_sum = VALUES(criteria_total_squares_sum), " +
+           "decayed_weight = VALUES(decayed_weight), " +
+           "decayed_score_sum = VALUES(decayed_score_sum), " +
+           "decay_anchor_ms = VALUES(decay_anchor_ms), " +
+           "updated_at = NOW()",
+           nativeQuery = true)
+    void recompute(Long hostelId, double lambda);
+
+    /**
+     * Computes the expected aggregates of every rated hostel directly from hostel_ratings.
+     * Used by the verify job to detect drift.
+     */
+    @Query("SELECT new com.cdac.hostel.model.HostelRatingAggregate(r.hostelId, COUNT(r), " +
+           "SUM(r.cleanlinessRating), SUM(r.foodQualityRating), SUM(r.safetyRating), " +
+           "SUM(r.locationRating), SUM(r.affordabilityRating), " +
+           "SUM((r.cleanlinessRating + r.foodQualityRating + r.safetyRating + " +
+           "r.locationRating + r.affordabilityRating) * (r.cleanlinessRating + " +
+           "r.foodQualityRating + r.safetyRating + r.locationRating + r.affordabilityRating))) " +
+           "FROM HostelRating r GROUP BY r.hostelId")
+    List<HostelRatingAggregate> computeFromRatings();
+
+    /**
+     * Sums the aggregates of all hostels into global rating totals.
+     * Reads one row per rated hostel instead of every rating.
+     */
+    @Query("SELECT new com.cdac.hostel.dto.RatingTotals(SUM(a.ratingCount), SUM(a.cleanlinessSum), " +
+           "SUM(a.foodQualitySum), SUM(a.safetySum), SUM(a.locationSum), SUM(a.affordabilitySum)) " +
+           "FROM HostelRatingAggregate a")
+    RatingTotals sumAll();
+}
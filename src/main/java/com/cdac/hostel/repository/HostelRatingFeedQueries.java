@@ -0,0 +1,29 @@
+package com.cdac.hostel.repository;
+
+import java.util.List;
+
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.model.RatingCriterion;
+
+/**
+ * Score-ordered pages of a hostel's ratings feed.
+ * The sort key is a column chosen per request, which a fixed @Query cannot express without
+ * computing the key per row; these queries name the column directly so each order is
+ * served by its (hostelId, key, ratingId) index.
+ */
+public interface HostelRatingFeedQueries {
+
+    /**
+     * One page of a hostel's ratings ordered by a score column, then rating ID in the same direction.
+     *
+     * @param hostelId The ID of the hostel
+     * @param criterion The criterion to order by, or null for the overall score
+     * @param ascending true for lowest first, false for highest first
+     * @param key Score of the cursor rating, or null for the first page
+     * @param ratingId ID of the cursor rating, or null for the first page
+     * @param limit Maximum number of ratings
+     * @return Ratings strictly after the (key, ratingId) cursor
+     */
+    List<HostelRating> findScorePage(Long hostelId, RatingCriterion criterion, boolean ascending,
+                                     Integer key, Long ratingId, int limit);
+}
@@ -0,0 +1,58 @@
+package com.cdac.hostel.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.model.RatingCriterion;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * JPQL for HostelRatingFeedQueries. Only entity property names from the switch below are
+ * ever placed in the query text; the cursor values are bound as parameters.
+ */
+class HostelRatingFeedQueriesImpl implements HostelRatingFeedQueries {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    public List<HostelRating> findScorePage(Long hostelId, RatingCriterion criterion, boolean ascending,
+                                            Integer key, Long ratingId, int limit) {
+        String column = "r." + keyProperty(criterion);
+        String after = ascending ? ">" : "<";
+        String direction = ascending ? "ASC" : "DESC";
+
+        StringBuilder jpql = new StringBuilder("SELECT r FROM HostelRating r WHERE r.hostelId = :hostelId ");
+        if (key != null) {
+            jpql.append("AND (").append(column).append(' ').append(after).append(" :key OR (")
+                .append(column).append(" = :key AND r.ratingId ").append(after).append(" :ratingId)) ");
+        }
+        jpql.append("ORDER BY ").append(column).append(' ').append(direction)
+            .append(", r.ratingId ").append(direction);
+
+        TypedQuery<HostelRating> query = entityManager.createQuery(jpql.toString(), HostelRating.class)
+                .setParameter("hostelId", hostelId)
+                .setMaxResults(limit);
+        if (key != null) {
+            query.setParameter("key", key).setParameter("ratingId", ratingId);
+        }
+        return query.getResultList();
+    }
+
+    private static String keyProperty(RatingCriterion criterion) {
+        if (criterion == null) {
+            return "overallScore";
+        }
+        return switch (criterion) {
+            case CLEANLINESS -> "cleanlinessRating";
+            case FOOD_QUALITY -> "foodQualityRating";
+            case SAFETY -> "safetyRating";
+            case LOCATION -> "locationRating";
+            case AFFORDABILITY -> "affordabilityRating";
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package com.cdac.hostel.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cdac.hostel.model.HostelRatingHistogram;
+
+/**
+ * Repository interface for HostelRatingHistogram entity operations.
+ * Provides the atomic counter upsert used on every rating write and the
+ * recompute used to repair a hostel's counters from hostel_ratings.
+ */
+@Repository
+public interface HostelRatingHistogramRepository extends JpaRepository<HostelRatingHistogram, Long> {
+
+    /**
+     * Atomically moves one vote per criterion from the old star level to the new one,
+     * creating the hostel's row if missing. MySQL evaluates (:x = k) to 1 or 0, so each
+     * counter gains one when it is the new level and loses one when it is the old level.
+     * Pass 0 as the old levels for a new rating.
+     *
+     * @param hostelId The ID of the hostel
+     * @param cleanliness New cleanliness stars
+     * @param foodQuality New food quality stars
+     * @param safety New safety stars
+     * @param location New location stars
+     * @param affordability New affordability stars
+     * @param oldCleanliness Previous cleanliness stars, or 0
+     * @param oldFoodQuality Previous food quality stars, or 0
+     * @param oldSafety Previous safety stars, or 0
+     * @param oldLocation Previous location stars, or 0
+     * @param oldAffordability Previous affordability stars, or 0
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO hostel_rating_histograms (hostel_id, " +
+           "cleanliness1, cleanliness2, cleanliness3, cleanliness4, cleanliness5, " +
+           "food_quality1, food_quality2, food_quality3, food_quality4, food_quality5, " +
+           "safety1, safety2, safety3, safety4, safety5, " +
+           "location1, location2, location3, location4, location5, " +
+           "affordability1, affordability2, affordability3, affordability4, affordability5, " +
+           "updated_at) VALUES (:hostelId, " +
+           "(:cleanliness = 1) - (:oldCleanliness = 1), (:cleanliness = 2) - (:oldCleanliness = 2), " +
+           "(:cleanliness = 3) - (:oldCleanliness = 3), (:cleanliness = 4) - (:oldCleanliness = 4), " +
+           "(:cleanliness = 5) - (:oldCleanliness = 5), (:foodQuality = 1) - (:oldFoodQuality = 1), " +
+           "(:foodQuality = 2) - (:oldFoodQuality = 2), (:foodQuality = 3) - (:oldFoodQuality = 3), " +
+           "(:foodQuality = 4) - (:oldFoodQuality = 4), (:foodQuality = 5) - (:oldFoodQuality = 5), " +
+           "(:safety = 1) - (:oldSafety = 1), (:safety = 2) - (:oldSafety = 2), " +
+           "(:safety = 3) - (:oldSafety = 3), (:safety = 4) - (:oldSafety = 4), " +
+           "(:safety = 5) - (:oldSafety = 5), (:location = 1) - (:oldLocation = 1), " +
+           "(:location = 2) - (:oldLocation = 2), (:location = 3) - (:oldLocation = 3), " +
+           "(:location = 4) - (:oldLocation = 4), (:location = 5) - (:oldLocation = 5), " +
+           "(:affordability = 1) - (:oldAffordability = 1), (:affordability = 2) - (:oldAffordability = 2), " +
+           "(:affordability = 3) - (:oldAffordability = 3), (:affordability = 4) - (:oldAffordability = 4), " +
+           "(:affordability = 5) - (:oldAffordability = 5), " +
+           "NOW()) ON DUPLICATE KEY UPDATE " +
+           "cleanliness1 = cleanliness1 + (:cleanliness = 1) - (:oldCleanliness = 1), " +
+           "cleanliness2 = cleanliness2 + (:cleanliness = 2) - (:oldCleanliness = 2), " +
+           "cleanliness3 = cleanliness3 + (:cleanliness = 3) - (:oldCleanliness = 3), " +
+           "cleanliness4 = cleanliness4 + (:cleanliness = 4) - (:oldCleanliness = 4), " +
+           "cleanliness5 = cleanliness5 + (:cleanliness = 5) - (:oldCleanliness = 5), " +
+           "food_quality1 = food_quality1 + (:foodQuality = 1) - (:oldFoodQuality = 1), " +
+           "food_quality2 = food_quality2 + (:foodQuality = 2) - (:oldFoodQuality = 2), " +
+           "food_quality3 = food_quality3 + (:foodQuality = 3) - (:oldFoodQuality = 3), " +
+           "food_quality4 = food_quality4 + (:foodQuality = 4) - (:oldFoodQuality = 4), " +
+           "food_quality5 = food_quality5 + (:foodQuality = 5) - (:oldFoodQuality = 5), " +
+           "safety1 = safety1 + (:safety = 1) - (:oldSafety = 1), " +
+           "safety2 = safety2 + (:safety = 2) - (:oldSafety = 2), " +
+           "safety3 = safety3 + (:safety = 3) - (:oldSafety = 3), " +
+           "safety4 = safety4 + (:safety = 4) - (:oldSafety = 4), " +
+           "safety5 = safety5 + (:safety = 5) - (:oldSafety = 5), " +
+           "location1 = location1 + (:location = 1) - (:oldLocation = 1), " +
+           "location2 = location2 + (:location = 2) - (:oldLocation = 2), " +
+           "location3 = location3 + (:location = 3) - (:oldLocation = 3), " +
+           "location4 = location4 + (:location = 4) - (:oldLocation = 4), " +
+           "location5 = location5 + (:location = 5) - (:oldLocation = 5), " +
+           "affordability1 = affordability1 + (:affordability = 1) - (:oldAffordability = 1), " +
+           "affordability2 = affordability2 + (:affordability = 2) - (:oldAffordability = 2), " +
+           "affordability3 = affordability3 + (:affordability = 3) - (:oldAffordability = 3), " +
+           "affordability4 = affordability4 + (:affordability = 4) - (:oldAffordability = 4), " +
+           "affordability5 = affordability5 + (:affordability = 5) - (:oldAffordability = 5), " +
+           "updated_at = NOW()",
+           nativeQuery = true)
+    void applyDelta(Long hostelId, int cleanliness, int foodQuality, int safety, int location,
+                    int affordability, int oldCleanliness, int oldFoodQuality, int oldSafety,
+                    int oldLocation, int oldAffordability);
+
+    /**
+     * Recomputes the counters of a single hostel from hostel_ratings in one statement.
+     * Used by the verify/rebuild job to repair drifted rows.
+     *
+     * @param hostelId The ID of the hostel
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO hostel_rating_histograms (hostel_id, " +
+           "cleanliness1, cleanliness2, cleanliness3, cleanliness4, cleanliness5, " +
+           "food_quality1, food_quality2, food_quality3, food_quality4, food_quality5, " +
+           "safety1, safety2, safety3, safety4, safety5, " +
+           "location1, location2, location3, location4, location5, " +
+           "affordability1, affordability2, affordability3, affordability4, affordability5, " +
+           "updated_at) SELECT hostel_id, " +
+           "SUM(cleanliness_rating = 1), SUM(cleanliness_rating = 2), SUM(cleanliness_rating = 3), " +
+           "SUM(cleanliness_rating = 4), SUM(cleanliness_rating = 5), SUM(food_quality_rating = 1), " +
+           "SUM(food_quality_rating = 2), SUM(food_quality_rating = 3), SUM(food_quality_rating = 4), " +
+           "SUM(food_quality_rating = 5), SUM(safety_rating = 1), SUM(safety_rating = 2), " +
+           "SUM(safety_rating = 3), SUM(safety_rating = 4), SUM(safety_rating = 5), " +
+           "SUM(location_rating = 1), SUM(location_rating = 2), SUM(location_rating = 3), " +
+           "SUM(location_rating = 4), SUM(location_rating = 5), SUM(affordability_rating = 1), " +
+           "SUM(affordability_rating = 2), SUM(affordability_rating = 3), SUM(affordability_rating = 4), " +
+           "SUM(affordability_rating = 5), " +
+           "NOW() FROM hostel_ratings WHERE hostel_id = :hostelId GROUP BY hostel_id " +
+           "ON DUPLICATE KEY UPDATE " +
+           "cleanliness1 = VALUES(cleanliness1), cleanliness2 = VALUES(cleanliness2), " +
+           "cleanliness3 = VALUES(cleanliness3), cleanliness4 = VALUES(cleanliness4), " +
+           "cleanliness5 = VALUES(cleanliness5), food_quality1 = VALUES(food_quality1), " +
+           "food_quality2 = VALUES(food_quality2), food_quality3 = VALUES(food_quality3), " +
+           "food_quality4 = VALUES(food_quality4), food_quality5 = VALUES(food_quality5), " +
+           "safety1 = VALUES(safety1), safety2 = VALUES(safety2), " +
+           "safety3 = VALUES(safety3), safety4 = VALUES(safety4), " +
+           "safety5 = VALUES(safety5), location1 = VALUES(location1), " +
+           "location2 = VALUES(location2), location3 = VALUES(location3), " +
+           "location4 = VALUES(location4), location5 = VALUES(location5), " +
+           "affordability1 = VALUES(affordability1), affordability2 = VALUES(affordability2), " +
+           "affordability3 = VALUES(affordability3), affordability4 = VALUES(affordability4), " +
+           "affordability5 = VALUES(affordability5), " +
+           "updated_at = NOW()",
+           nativeQuery = true)
+    void recompute(Long hostelId);
+}
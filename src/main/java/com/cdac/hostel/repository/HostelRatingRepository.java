@@ -1,20 +1,34 @@
 package com.cdac.hostel.repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.cdac.hostel.dto.HostelRankingRow;
+import com.cdac.hostel.dto.RatingKey;
 import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.model.HostelStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for HostelRating entity operations.
  * Provides methods for rating retrieval and statistical calculations for ranking.
  */
 @Repository
-public interface HostelRatingRepository extends JpaRepository<HostelRating, Long> {
+public interface HostelRatingRepository extends JpaRepository<HostelRating, Long>, HostelRatingFeedQueries {
 
     /**
      * Finds a rating by hostel and user combination.
@@ -26,11 +40,56 @@ public interface HostelRatingRepository extends JpaRepository<HostelRating, Long
      */
     List<HostelRating> findByHostelId(Long hostelId);
 
+    /**
+     * Finds a user's rating of a hostel and locks it for update,
+     * so concurrent edits apply their aggregate deltas against the latest values.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM HostelRating r WHERE r.hostelId = :hostelId AND r.userId = :userId")
+    Optional<HostelRating> findForUpdate(Long hostelId, Long userId);
+
+    /**
+     * Streams every rating in ID order for exports.
+     * A fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time
+     * instead of buffering the whole result, for this query only. Until the stream is closed
+     * its connection can run no other statement, so it must be consumed and closed inside a
+     * transaction that issues no other queries.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<HostelRating> streamAllByOrderByRatingId();
+
     /**
      * Counts the number of ratings for a specific hostel.
      */
     long countByHostelId(Long hostelId);
 
+    /**
+     * Finds the (hostelId, userId) pairs already rated among the given hostels and users.
+     * Returns a superset of the pairs of interest (any hostel x any user); callers match exact pairs.
+     * Used by bulk import to detect duplicates with one query per chunk.
+     */
+    @Query("SELECT new com.cdac.hostel.dto.RatingKey(r.hostelId, r.userId) FROM HostelRating r " +
+           "WHERE r.hostelId IN :hostelIds AND r.userId IN :userIds")
+    List<RatingKey> findRatingKeys(Collection<Long> hostelIds, Collection<Long> userIds);
+
+    // ========== Ratings Feed (Keyset Pagination) ==========
+
+    /**
+     * First page of a hostel's ratings, newest first.
+     * Served by the (hostelId, createdAt, ratingId) index. Score orders are in HostelRatingFeedQueries.
+     */
+    @Query("SELECT r FROM HostelRating r WHERE r.hostelId = :hostelId " +
+           "ORDER BY r.createdAt DESC, r.ratingId DESC")
+    List<HostelRating> findNewestPage(Long hostelId, Limit limit);
+
+    /**
+     * Next page of a hostel's ratings, newest first, strictly after the (createdAt, ratingId) cursor.
+     */
+    @Query("SELECT r FROM HostelRating r WHERE r.hostelId = :hostelId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.ratingId < :ratingId)) " +
+           "ORDER BY r.createdAt DESC, r.ratingId DESC")
+    List<HostelRating> findNewestPageAfter(Long hostelId, Timestamp createdAt, Long ratingId, Limit limit);
+
     // ========== Ranking Algorithm Query Methods ==========
 
     /**
@@ -56,4 +115,20 @@ public interface HostelRatingRepository extends JpaRepository<HostelRating, Long
      */
     @Query("SELECT COUNT(r) FROM HostelRating r")
     long getTotalRatingCount();
+
+    /**
+     * Fetches every hostel with the given status together with its rating totals in one query.
+     * Joins hostels with the maintained per-hostel aggregates; unrated hostels get zero totals.
+     * Used to build the ranking in a single round trip regardless of hostel count.
+     */
+    @Query("SELECT new com.cdac.hostel.dto.HostelRankingRow(h.hostelId, h.hostelName, " +
+           "COALESCE(a.ratingCount, 0L), COALESCE(a.cleanlinessSum, 0L), " +
+           "COALESCE(a.foodQualitySum, 0L), COALESCE(a.safetySum, 0L), " +
+           "COALESCE(a.locationSum, 0L), COALESCE(a.affordabilitySum, 0L), " +
+           "COALESCE(a.criteriaTotalSquaresSum, 0L), " +
+           "COALESCE(a.decayedWeight, 0.0), COALESCE(a.decayedScoreSum, 0.0), " +
+           "COALESCE(a.decayAnchorMs, 0L)) " +
+           "FROM Hostel h LEFT JOIN HostelRatingAggregate a ON a.hostelId = h.hostelId " +
+           "WHERE h.status = :status")
+    List<HostelRankingRow> findRankingRows(HostelStatus status);
 }
@@ -1,13 +1,89 @@
 package com.cdac.hostel.repository;
 
  
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import com.cdac.hostel.dto.HostelDTO;
 import com.cdac.hostel.model.Hostel;
 import com.cdac.hostel.model.HostelStatus;
 
+import jakarta.persistence.QueryHint;
+
 public interface HostelRepository extends JpaRepository<Hostel, Long> {
 
+    // Listing projection: hostel columns needed by list views plus rating totals, no TEXT columns
+    String LISTING_SELECT = "SELECT new com.cdac.hostel.dto.HostelDTO(h.hostelId, h.hostelName, h.city, " +
+            "h.locality, h.landmark, h.latitude, h.longitude, h.monthlyRentMin, h.monthlyRentMax, h.hasWifi, h.hasAc, h.hasMess, h.hasLaundry, " +
+            "h.roomCapacity, h.createdAt, a.ratingCount, " +
+            "a.cleanlinessSum + a.foodQualitySum + a.safetySum + a.locationSum + a.affordabilitySum) " +
+            "FROM Hostel h LEFT JOIN HostelRatingAggregate a ON a.hostelId = h.hostelId ";
+
     List<Hostel> findByStatus(HostelStatus status);
-}
 
+    Optional<Hostel> findByHostelIdAndStatus(Long hostelId, HostelStatus status);
+
+    /**
+     * Hostels with a map location but no parsed coordinates yet, for the startup backfill.
+     */
+    List<Hostel> findByLatitudeIsNullAndMapLocationIsNotNull();
+
+    /**
+     * Streams every hostel in ID order for exports.
+     * A fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time
+     * instead of buffering the whole result, for this query only. Until the stream is closed
+     * its connection can run no other statement, so it must be consumed and closed inside a
+     * transaction that issues no other queries.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<Hostel> streamAllByOrderByHostelId();
+
+    // ========== Keyset Pagination ==========
+
+    /**
+     * First page of hostels with a status, oldest first.
+     * Served by the (status, createdAt, hostelId) index.
+     */
+    @Query("SELECT h FROM Hostel h WHERE h.status = :status " +
+           "ORDER BY h.createdAt ASC, h.hostelId ASC")
+    List<Hostel> findPageByStatus(HostelStatus status, Limit limit);
+
+    /**
+     * Next page of hostels with a status, strictly after the (createdAt, hostelId) cursor.
+     * Seeks in the index instead of skipping rows with OFFSET.
+     */
+    @Query("SELECT h FROM Hostel h WHERE h.status = :status " +
+           "AND (h.createdAt > :createdAt OR (h.createdAt = :createdAt AND h.hostelId > :hostelId)) " +
+           "ORDER BY h.createdAt ASC, h.hostelId ASC")
+    List<Hostel> findPageByStatusAfter(HostelStatus status, Timestamp createdAt, Long hostelId, Limit limit);
+
+    // ========== Listing Projections ==========
+
+    /**
+     * Every hostel with a status as a listing row, oldest first.
+     */
+    @Query(LISTING_SELECT + "WHERE h.status = :status ORDER BY h.createdAt ASC, h.hostelId ASC")
+    List<HostelDTO> findListingsByStatus(HostelStatus status);
+
+    /**
+     * First page of listing rows with a status, oldest first.
+     * Served by the (status, createdAt, hostelId) index.
+     */
+    @Query(LISTING_SELECT + "WHERE h.status = :status ORDER BY h.createdAt ASC, h.hostelId ASC")
+    List<HostelDTO> findListingPageByStatus(HostelStatus status, Limit limit);
+
+    /**
+     * Next page of listing rows with a status, strictly after the (createdAt, hostelId) cursor.
+     */
+    @Query(LISTING_SELECT + "WHERE h.status = :status " +
+           "AND (h.createdAt > :createdAt OR (h.createdAt = :createdAt AND h.hostelId > :hostelId)) " +
+           "ORDER BY h.createdAt ASC, h.hostelId ASC")
+    List<HostelDTO> findListingPageByStatusAfter(HostelStatus status, Timestamp createdAt, Long hostelId, Limit limit);
+}
@@ -1,5 +1,7 @@
 package com.cdac.hostel.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -22,4 +24,13 @@ public interface ReviewReplyRepository extends JpaRepository<HostelReviewReply,
      * @return Optional containing the reply if found
      */
     Optional<HostelReviewReply> findByRatingId(Long ratingId);
+
+    /**
+     * Finds the replies of several ratings in one query.
+     * Ratings without a reply are simply absent from the result.
+     *
+     * @param ratingIds The IDs of the ratings
+     * @return The replies found, at most one per rating
+     */
+    List<HostelReviewReply> findByRatingIdIn(Collection<Long> ratingIds);
 }
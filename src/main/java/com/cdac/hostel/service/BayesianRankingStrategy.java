@@ -0,0 +1,35 @@
+package com.cdac.hostel.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Bayesian average ranking.
+ * Pulls each hostel's average toward the global average until it has enough ratings.
+ *
+ * Formula: Bayesian Average = (C * m + R * v) / (m + v)
+ * Where:
+ * - C = Global average rating across all hostels (prior mean)
+ * - m = Confidence parameter (minimum votes required)
+ * - R = Average rating for this hostel
+ * - v = Number of votes (ratings) for this hostel
+ */
+@Component
+public class BayesianRankingStrategy implements RankingStrategy {
+
+    public static final String NAME = "bayesian";
+
+    // Confidence parameter: minimum number of ratings to trust the average
+    // Hostels with fewer ratings will be pulled toward the global average
+    private static final int CONFIDENCE_PARAMETER = 5;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public double score(double priorMean, double mean, double count, double meanOfSquares) {
+        int m = CONFIDENCE_PARAMETER;
+        return (priorMean * m + mean * count) / (m + count);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cdac.hostel.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Dirichlet-prior lower bound ranking.
+ * Treats the star levels 1-5 as a multinomial with a uniform Dirichlet prior (one
+ * pseudo-rating per level) and ranks by a lower bound of the posterior mean:
+ *
+ * score = mean - z * sqrt((meanOfSquares - mean^2) / (N + 1))
+ *
+ * where mean and meanOfSquares are taken over the ratings plus the pseudo-ratings and
+ * N is their total count. Needs only the rating count, sum and sum of squares, so it
+ * also penalises hostels whose ratings are widely spread.
+ */
+@Component
+public class DirichletRankingStrategy implements RankingStrategy {
+
+    public static final String NAME = "dirichlet";
+
+    // Uniform prior: one pseudo-rating at each of the star levels 1..5
+    private static final double PRIOR_COUNT = 5;
+    private static final double PRIOR_SUM = 1 + 2 + 3 + 4 + 5;
+    private static final double PRIOR_SQUARES_SUM = 1 + 4 + 9 + 16 + 25;
+
+    // z-score of the one-sided 95% confidence level
+    private static final double Z = 1.65;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean requiresSecondMoment() {
+        return true;
+    }
+
+    @Override
+    public double score(double priorMean, double mean, double count, double meanOfSquares) {
+        double n = count + PRIOR_COUNT;
+        double posteriorMean = (mean * count + PRIOR_SUM) / n;
+        double posteriorSquares = (meanOfSquares * count + PRIOR_SQUARES_SUM) / n;
+        double variance = Math.max(0.0, posteriorSquares - posteriorMean * posteriorMean);
+        return posteriorMean - Z * Math.sqrt(variance / (n + 1));
+    }
+}
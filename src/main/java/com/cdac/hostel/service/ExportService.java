@@ -0,0 +1,120 @@
+package com.cdac.hostel.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cdac.hostel.model.Hostel;
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.repository.HostelRatingRepository;
+import com.cdac.hostel.repository.HostelRepository;
+import com.cdac.hostel.util.CsvWriter;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Service layer for bulk data exports.
+ * Streams hostels and ratings as CSV straight from a streaming, forward-only result set:
+ * each row is written and detached before the next is read, so exports of any size
+ * run in constant heap and the first bytes leave immediately.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Rows written between flushes of the response
+    private static final int FLUSH_EVERY = 1000;
+
+    @Autowired
+    private HostelRepository hostelRepository;
+
+    @Autowired
+    private HostelRatingRepository ratingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Writes every hostel, in ID order, as CSV.
+     *
+     * @param output The stream to write to (not closed)
+     * @return Number of hostels exported
+     */
+    @Transactional(readOnly = true)
+    public long exportHostels(OutputStream output) throws IOException {
+        CsvWriter csv = writer(output);
+        csv.row("hostelId", "hostelName", "city", "locality", "landmark", "mapLocation",
+                "latitude", "longitude", "distanceFromCdac", "monthlyRentMin", "monthlyRentMax", "hasWifi", "hasAc",
+                "hasMess", "hasLaundry", "roomCapacity", "submittedByUserId", "status",
+                "createdAt", "approvedAt");
+
+        long count = 0;
+        try (Stream<Hostel> hostels = hostelRepository.streamAllByOrderByHostelId()) {
+            Iterator<Hostel> it = hostels.iterator();
+            while (it.hasNext()) {
+                Hostel h = it.next();
+                csv.row(h.getHostelId(), h.getHostelName(), h.getCity(), h.getLocality(), h.getLandmark(),
+                        h.getMapLocation(), h.getLatitude(), h.getLongitude(), h.getDistanceFromCdac(),
+                        h.getMonthlyRentMin(), h.getMonthlyRentMax(), h.getHasWifi(), h.getHasAc(), h.getHasMess(),
+                        h.getHasLaundry(), h.getRoomCapacity(), h.getSubmittedByUserId(), h.getStatus(),
+                        h.getCreatedAt(), h.getApprovedAt());
+                entityManager.detach(h);
+                if (++count % FLUSH_EVERY == 0) {
+                    csv.flush();
+                }
+            }
+        }
+        csv.flush();
+
+        logger.info("Hostel export finished: rows={}", count);
+        return count;
+    }
+
+    /**
+     * Writes every rating, in ID order, as CSV.
+     *
+     * @param output The stream to write to (not closed)
+     * @return Number of ratings exported
+     */
+    @Transactional(readOnly = true)
+    public long exportRatings(OutputStream output) throws IOException {
+        CsvWriter csv = writer(output);
+        csv.row("ratingId", "hostelId", "userId", "cleanlinessRating", "foodQualityRating",
+                "safetyRating", "locationRating", "affordabilityRating", "reviewText",
+                "createdAt", "updatedAt");
+
+        long count = 0;
+        try (Stream<HostelRating> ratings = ratingRepository.streamAllByOrderByRatingId()) {
+            Iterator<HostelRating> it = ratings.iterator();
+            while (it.hasNext()) {
+                HostelRating r = it.next();
+                csv.row(r.getRatingId(), r.getHostelId(), r.getUserId(), r.getCleanlinessRating(),
+                        r.getFoodQualityRating(), r.getSafetyRating(), r.getLocationRating(),
+                        r.getAffordabilityRating(), r.getReviewText(), r.getCreatedAt(), r.getUpdatedAt());
+                entityManager.detach(r);
+                if (++count % FLUSH_EVERY == 0) {
+                    csv.flush();
+                }
+            }
+        }
+        csv.flush();
+
+        logger.info("Rating export finished: rows={}", count);
+        return count;
+    }
+
+    private static CsvWriter writer(OutputStream output) {
+        return new CsvWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+    }
+}
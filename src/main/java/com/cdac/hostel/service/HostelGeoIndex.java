@@ -0,0 +1,225 @@
+package com.cdac.hostel.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.cdac.hostel.dto.HostelDTO;
+import com.cdac.hostel.model.HostelStatus;
+import com.cdac.hostel.repository.HostelRepository;
+import com.cdac.hostel.util.GeoCoordinates;
+
+/**
+ * In-memory spatial index over approved hostels with coordinates, for proximity search.
+ * Hostels are bucketed into a fixed grid of CELL_DEGREES x CELL_DEGREES cells. A radius
+ * query visits only the cells overlapping the circle's bounding box, computes the exact
+ * haversine distance for the hostels in them, and keeps the nearest ones in a bounded heap.
+ *
+ * Built from the database at startup and updated per hostel on approval and rejection.
+ * Reads share a read lock; updates take the write lock.
+ */
+@Component
+public class HostelGeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostelGeoIndex.class);
+
+    // About 2.2 km of latitude: a few-kilometre radius touches a handful of cells
+    static final double CELL_DEGREES = 0.02;
+
+    @Autowired
+    private HostelRepository hostelRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Cell key -> hostels located in that cell
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+
+    // Hostel ID -> its entry, to find the cell again on removal
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private static final class Entry {
+        private final HostelDTO hostel;
+        private final double latitude;
+        private final double longitude;
+        private final long cell;
+
+        Entry(HostelDTO hostel, double latitude, double longitude) {
+            this.hostel = hostel;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cellKey(latitudeCell(latitude), longitudeCell(longitude));
+        }
+    }
+
+    /**
+     * A hostel found near the query point, with its distance from it.
+     */
+    public static final class Hit {
+        private final HostelDTO hostel;
+        private final double distanceKm;
+
+        Hit(HostelDTO hostel, double distanceKm) {
+            this.hostel = hostel;
+            this.distanceKm = distanceKm;
+        }
+
+        public HostelDTO getHostel() {
+            return hostel;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    /**
+     * Indexes every approved hostel with coordinates at startup.
+     * Runs after HostelCoordinateBackfill, so backfilled coordinates are included.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        List<HostelDTO> approved = hostelRepository.findListingsByStatus(HostelStatus.APPROVED);
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            entries.clear();
+            for (HostelDTO hostel : approved) {
+                put(hostel);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Hostel geo index built: hostels={}, cells={}", entries.size(), cells.size());
+    }
+
+    /**
+     * Adds an approved hostel, replacing any earlier version of it.
+     * Hostels without coordinates are only removed. Call after the approval has committed.
+     */
+    public void add(HostelDTO hostel) {
+        lock.writeLock().lock();
+        try {
+            delete(hostel.getHostelId());
+            put(hostel);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a hostel, e.g. on rejection. Unknown IDs are ignored.
+     */
+    public void remove(Long hostelId) {
+        lock.writeLock().lock();
+        try {
+            delete(hostelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the hostels within a radius of a point, nearest first.
+     *
+     * @param latitude Latitude of the centre
+     * @param longitude Longitude of the centre
+     * @param radiusKm Search radius in kilometres
+     * @param limit Maximum number of hostels returned
+     * @param filter Extra condition a hostel must meet (e.g. a minimum rating)
+     * @return Up to limit hits ordered by distance (ascending), ties by hostel ID
+     */
+    public List<Hit> nearby(double latitude, double longitude, double radiusKm, int limit, Predicate<HostelDTO> filter) {
+        Comparator<Hit> nearestFirst = Comparator.comparingDouble(Hit::getDistanceKm)
+                .thenComparing(hit -> hit.getHostel().getHostelId());
+        // Max-heap of the best hits so far: the root is the one to evict
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, nearestFirst.reversed());
+
+        // Bounding box of the circle in cells; longitude degrees shrink towards the poles
+        double latitudeSpan = radiusKm / GeoCoordinates.KM_PER_DEGREE;
+        double cosLatitude = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude) + latitudeSpan)));
+        double longitudeSpan = Math.min(180.0, latitudeSpan / cosLatitude);
+
+        int minLatCell = latitudeCell(Math.max(-90.0, latitude - latitudeSpan));
+        int maxLatCell = latitudeCell(Math.min(90.0, latitude + latitudeSpan));
+        int minLonCell = longitudeCell(Math.max(-180.0, longitude - longitudeSpan));
+        int maxLonCell = longitudeCell(Math.min(180.0, longitude + longitudeSpan));
+
+        lock.readLock().lock();
+        try {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                    List<Entry> cell = cells.get(cellKey(latCell, lonCell));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry entry : cell) {
+                        double distance = GeoCoordinates.haversineKm(latitude, longitude,
+                                entry.latitude, entry.longitude);
+                        if (distance > radiusKm || !filter.test(entry.hostel)) {
+                            continue;
+                        }
+                        best.add(new Hit(entry.hostel, distance));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(nearestFirst);
+        return hits;
+    }
+
+    // ========== Maintenance (write lock held) ==========
+
+    private void put(HostelDTO hostel) {
+        if (hostel.getLatitude() == null || hostel.getLongitude() == null
+                || !GeoCoordinates.isValid(hostel.getLatitude(), hostel.getLongitude())) {
+            return;
+        }
+        Entry entry = new Entry(hostel, hostel.getLatitude(), hostel.getLongitude());
+        entries.put(hostel.getHostelId(), entry);
+        cells.computeIfAbsent(entry.cell, k -> new ArrayList<>()).add(entry);
+    }
+
+    private void delete(Long hostelId) {
+        Entry entry = entries.remove(hostelId);
+        if (entry == null) {
+            return;
+        }
+        List<Entry> cell = cells.get(entry.cell);
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+    }
+
+    private static int latitudeCell(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static int longitudeCell(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
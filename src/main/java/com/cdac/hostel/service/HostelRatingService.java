@@ -2,24 +2,54 @@ package com.cdac.hostel.service;
 
 
 
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.cdac.hostel.client.AuthServiceClient;
+import com.cdac.hostel.dto.CursorPage;
 import com.cdac.hostel.dto.MultiCriteriaRatingRequest;
 import com.cdac.hostel.dto.RatingDTO;
+import com.cdac.hostel.dto.RatingDistributionDTO;
+import com.cdac.hostel.dto.RatingFeedPage;
+import com.cdac.hostel.dto.ReviewSearchResult;
 import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.model.HostelRatingAggregate;
 import com.cdac.hostel.model.HostelReviewReply;
+import com.cdac.hostel.model.RatingCriterion;
+import com.cdac.hostel.model.RatingSort;
 import com.cdac.hostel.repository.HostelRatingRepository;
 import com.cdac.hostel.repository.ReviewReplyRepository;
 
 import com.cdac.hostel.exception.DuplicateResourceException;
+import com.cdac.hostel.exception.InvalidRequestException;
 import com.cdac.hostel.exception.ResourceNotFoundException;
+import com.cdac.hostel.exception.ServiceBusyException;
+import com.cdac.hostel.util.CursorCodec;
+import com.cdac.hostel.util.TransactionCallbacks;
 /**
  * Service layer for hostel rating and reply operations.
  * Implements multi-criteria rating system where users rate hostels across 5 dimensions:
@@ -31,6 +61,12 @@ public class HostelRatingService {
 
     private static final Logger logger = LoggerFactory.getLogger(HostelRatingService.class);
 
+    // Upper bound on rating IDs per batch reply lookup (one page of the ratings feed)
+    public static final int MAX_REPLY_BATCH = CursorCodec.MAX_PAGE_SIZE;
+
+    // MySQL ER_DUP_ENTRY
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
     @Autowired
     private HostelRatingRepository ratingRepository;
 
@@ -40,35 +76,65 @@ public class HostelRatingService {
     @Autowired
     private AuthServiceClient authClient;
 
+    @Autowired
+    private RatingAggregateService aggregateService;
+
+    @Autowired
+    private ReviewSearchIndex searchIndex;
+
+    @Autowired
+    private RatingWriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("authCheckExecutor")
+    private Executor authCheckExecutor;
+
+    @Value("${hostel.ratings.auth-check-timeout-ms:2000}")
+    private long authCheckTimeoutMs;
+
+    /**
+     * Whether new ratings are acknowledged before they are written (write-behind mode).
+     */
+    public boolean isWriteBehind() {
+        return writeBehindQueue.isEnabled();
+    }
+
     /**
      * Creates a new multi-criteria rating for a hostel.
      * Validates user existence and prevents duplicate ratings.
      * Each rating consists of 5 separate criteria scores (1-5 each).
+     * The hostel's rating aggregate is updated in the same transaction as the insert.
+     *
+     * The user check runs on a separate thread while the rating is inserted optimistically;
+     * duplicates are decided by the unique_user_hostel_rating constraint rather than a prior
+     * lookup, so concurrent double-submits cannot both succeed. Either failure rolls the insert back.
+     *
+     * In write-behind mode the rating is validated up front, journalled and queued instead;
+     * it gets its ID immediately but is inserted (and counted in aggregates) by the queue's writer.
+     * That path runs outside any transaction, so the request holds no connection while it
+     * waits for the user check or the journal write.
      *
      * @param hostelId The ID of the hostel being rated
      * @param userId The ID of the user submitting the rating
      * @param req The rating request containing all 5 criteria scores and optional review text
      * @return The created rating entity
      * @throws RuntimeException if user not found or user already rated this hostel
+     * @throws InvalidRequestException if a score is missing or outside 1-5
+     * @throws ServiceBusyException if the user check cannot be started or times out
      */
     public HostelRating rateHostel(
             Long hostelId, Long userId, MultiCriteriaRatingRequest req) {
 
         logger.info("User {} attempting to rate hostel {}", userId, hostelId);
-        
-        // Validate user exists via Auth Service
-        if (!authClient.userExists(userId)) {
-            logger.error("Rating failed - User not found: userId={}", userId);
-            throw new ResourceNotFoundException("User not found");
-        }
 
-        // Check for duplicate rating (one rating per user per hostel)
-        ratingRepository.findByHostelIdAndUserId(hostelId, userId)
-            .ifPresent(r -> {
-                logger.warn("Duplicate rating attempt: userId={}, hostelId={}, existingRatingId={}", 
-                           userId, hostelId, r.getRatingId());
-                throw new DuplicateResourceException("User already rated this hostel");
-            });
+        // Scores feed the aggregates and histogram directly, so reject bad ones before anything is written
+        checkScores(req);
+
+        // Validate user exists via Auth Service, concurrently with the insert
+        CompletableFuture<Boolean> userCheck = startUserCheck(userId);
 
         // Create rating entity with all 5 criteria
         HostelRating rating = new HostelRating();
@@ -81,19 +147,234 @@ public class HostelRatingService {
         rating.setAffordabilityRating(req.getAffordabilityRating());
         rating.setReviewText(req.getReviewText());
 
-        HostelRating savedRating = ratingRepository.save(rating);
+        if (writeBehindQueue.isEnabled()) {
+            return queueRating(rating, userCheck);
+        }
+        return transactionTemplate.execute(status -> insertRating(rating, userCheck));
+    }
+
+    /**
+     * Synchronous path of rateHostel; runs in one transaction.
+     */
+    private HostelRating insertRating(HostelRating rating, CompletableFuture<Boolean> userCheck) {
+        Long hostelId = rating.getHostelId();
+        Long userId = rating.getUserId();
+
+        // Insert straight away; the unique constraint rejects duplicates (one rating per user per hostel)
+        HostelRating savedRating;
+        try {
+            savedRating = ratingRepository.saveAndFlush(rating);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateRating(e)) {
+                throw e;
+            }
+            logger.warn("Duplicate rating attempt: userId={}, hostelId={}", userId, hostelId);
+            throw new DuplicateResourceException("User already rated this hostel");
+        }
+
+        if (!awaitUserCheck(userCheck)) {
+            logger.error("Rating failed - User not found: userId={}", userId);
+            throw new ResourceNotFoundException("User not found");
+        }
+
+        aggregateService.recordRating(savedRating);
+        indexAfterCommit(savedRating);
         
         // Calculate overall rating for logging
-        double overall = (req.getCleanlinessRating() + req.getFoodQualityRating() + 
-                         req.getSafetyRating() + req.getLocationRating() + 
-                         req.getAffordabilityRating()) / 5.0;
+        double overall = (rating.getCleanlinessRating() + rating.getFoodQualityRating() +
+                         rating.getSafetyRating() + rating.getLocationRating() +
+                         rating.getAffordabilityRating()) / 5.0;
         
         logger.info("Rating created successfully: ratingId={}, hostelId={}, userId={}, overall={}", 
                     savedRating.getRatingId(), hostelId, userId, overall);
 
         return savedRating;
     }
+
+    /**
+     * Write-behind variant of rateHostel: nothing is inserted, so the user and duplicate
+     * checks must pass before the rating is handed to the queue.
+     * Duplicates are checked against both the table and the ratings still queued; the lookup
+     * borrows a connection only for its own read.
+     */
+    private HostelRating queueRating(HostelRating rating, CompletableFuture<Boolean> userCheck) {
+        if (writeBehindQueue.isPending(rating.getHostelId(), rating.getUserId())
+                || ratingRepository.findByHostelIdAndUserId(rating.getHostelId(), rating.getUserId()).isPresent()) {
+            logger.warn("Duplicate rating attempt: userId={}, hostelId={}", rating.getUserId(), rating.getHostelId());
+            throw new DuplicateResourceException("User already rated this hostel");
+        }
+
+        if (!awaitUserCheck(userCheck)) {
+            logger.error("Rating failed - User not found: userId={}", rating.getUserId());
+            throw new ResourceNotFoundException("User not found");
+        }
+
+        HostelRating queued = writeBehindQueue.submit(rating);
+        logger.info("Rating accepted for write-behind: ratingId={}, hostelId={}, userId={}",
+                    queued.getRatingId(), queued.getHostelId(), queued.getUserId());
+        return queued;
+    }
     
+    /**
+     * Rejects a missing score or one outside 1-5.
+     */
+    private static void checkScores(MultiCriteriaRatingRequest req) {
+        checkScores(req.getCleanlinessRating(), req.getFoodQualityRating(), req.getSafetyRating(),
+                    req.getLocationRating(), req.getAffordabilityRating());
+    }
+
+    private static void checkScores(Integer... scores) {
+        for (Integer score : scores) {
+            if (score == null || score < 1 || score > 5) {
+                throw new InvalidRequestException("All 5 criteria must be rated from 1 to 5");
+            }
+        }
+    }
+
+    /**
+     * Updates a user's existing rating of a hostel: all 5 criteria and the review text.
+     * Only the difference from the old scores is applied to the hostel's aggregates,
+     * histogram and ranking, so an edit never rescans the hostel's rating history.
+     *
+     * @param hostelId The ID of the rated hostel
+     * @param userId The ID of the user who owns the rating
+     * @param req The new criteria scores and optional review text
+     * @return The updated rating entity
+     * @throws ResourceNotFoundException if the user has not rated this hostel
+     * @throws InvalidRequestException if a score is missing or outside 1-5
+     */
+    @Transactional
+    public HostelRating updateRating(Long hostelId, Long userId, MultiCriteriaRatingRequest req) {
+        logger.info("User {} updating rating of hostel {}", userId, hostelId);
+
+        checkScores(req);
+
+        HostelRating rating = ratingRepository.findForUpdate(hostelId, userId)
+                .orElseThrow(() -> {
+                    logger.error("Rating update failed - Rating not found: hostelId={}, userId={}", hostelId, userId);
+                    return new ResourceNotFoundException("Rating not found for this user and hostel");
+                });
+
+        int[] oldScores = {
+            rating.getCleanlinessRating(), rating.getFoodQualityRating(), rating.getSafetyRating(),
+            rating.getLocationRating(), rating.getAffordabilityRating()
+        };
+
+        rating.setCleanlinessRating(req.getCleanlinessRating());
+        rating.setFoodQualityRating(req.getFoodQualityRating());
+        rating.setSafetyRating(req.getSafetyRating());
+        rating.setLocationRating(req.getLocationRating());
+        rating.setAffordabilityRating(req.getAffordabilityRating());
+        rating.setReviewText(req.getReviewText());
+
+        HostelRating savedRating = ratingRepository.saveAndFlush(rating);
+        aggregateService.recordRatingChange(savedRating, oldScores);
+        indexAfterCommit(savedRating);
+
+        logger.info("Rating updated successfully: ratingId={}, hostelId={}, userId={}",
+                    savedRating.getRatingId(), hostelId, userId);
+
+        return savedRating;
+    }
+
+    /**
+     * Searches review texts, most relevant first (BM25 over an in-memory inverted index).
+     *
+     * @param query The search terms, e.g. "water problem"
+     * @param hostelId Restrict to one hostel's reviews, or null to search all hostels
+     * @param limit Maximum number of results
+     * @return Matching ratings with their relevance scores
+     * @throws InvalidRequestException if the query is blank or the limit out of range
+     */
+    public List<ReviewSearchResult> searchReviews(String query, Long hostelId, int limit) {
+        logger.debug("Searching reviews: query={}, hostelId={}, limit={}", query, hostelId, limit);
+
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be empty");
+        }
+        CursorCodec.checkPageSize(limit);
+
+        List<ReviewSearchIndex.Hit> hits = searchIndex.search(query, hostelId, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, HostelRating> ratings = new HashMap<>();
+        for (HostelRating rating : ratingRepository.findAllById(
+                hits.stream().map(ReviewSearchIndex.Hit::getRatingId).toList())) {
+            ratings.put(rating.getRatingId(), rating);
+        }
+
+        List<ReviewSearchResult> results = new ArrayList<>(hits.size());
+        for (ReviewSearchIndex.Hit hit : hits) {
+            HostelRating rating = ratings.get(hit.getRatingId());
+            if (rating != null) {
+                results.add(new ReviewSearchResult(rating, hit.getScore()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Indexes the rating's review text once the current transaction commits.
+     */
+    private void indexAfterCommit(HostelRating rating) {
+        Long ratingId = rating.getRatingId();
+        Long hostelId = rating.getHostelId();
+        String reviewText = rating.getReviewText();
+        TransactionCallbacks.afterCommit(() -> searchIndex.index(ratingId, hostelId, reviewText));
+    }
+
+    /**
+     * Whether an insert failed on the one-rating-per-user-per-hostel constraint.
+     * Rating IDs come from the sequence, so the only duplicate key an insert can hit is
+     * unique_user_hostel_rating; MySQL reports it as error 1062 (SQLState 23000).
+     */
+    static boolean isDuplicateRating(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql
+                    && sql.getErrorCode() == MYSQL_DUPLICATE_KEY && "23000".equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts the Auth Service user check on the auth check pool, bounded by hostel.ratings.auth-check-timeout-ms.
+     *
+     * @throws ServiceBusyException if the pool and its queue are full
+     */
+    private CompletableFuture<Boolean> startUserCheck(Long userId) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authClient.userExists(userId), authCheckExecutor)
+                    .orTimeout(authCheckTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.warn("User check rejected, auth check pool is saturated: userId={}", userId);
+            throw new ServiceBusyException("Too many ratings are being submitted; please retry shortly");
+        }
+    }
+
+    /**
+     * Waits for the concurrent user check, rethrowing its failure unwrapped.
+     *
+     * @throws ServiceBusyException if the Auth Service did not answer in time
+     */
+    private static boolean awaitUserCheck(CompletableFuture<Boolean> userCheck) {
+        try {
+            return userCheck.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                logger.warn("User check timed out");
+                throw new ServiceBusyException("Auth Service did not respond in time; please retry shortly");
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Retrieves all ratings for a specific hostel.
      *
@@ -107,10 +388,138 @@ public class HostelRatingService {
         return ratings;
     }
     
+    /**
+     * Retrieves one page of a hostel's ratings feed, using keyset pagination.
+     * newest pages on (createdAt, ratingId); highest and criterion page on (score, ratingId)
+     * descending, and lowest on (overall score, ratingId) ascending. The score is the overall
+     * score, or the chosen criterion's stars for sort=criterion; every order has its own index.
+     *
+     * @param hostelId The ID of the hostel
+     * @param sort newest, highest, lowest or criterion
+     * @param criterion The criterion to rank by; required for sort=criterion
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Number of ratings per page
+     * @return The page of ratings and the cursor for the next one
+     * @throws InvalidRequestException if the sort, criterion, cursor or size is invalid
+     */
+    public CursorPage<HostelRating> getRatingsPage(Long hostelId, String sort, String criterion,
+                                                   String cursor, int size) {
+        logger.debug("Fetching ratings page: hostelId={}, sort={}, criterion={}, cursor={}, size={}",
+                     hostelId, sort, criterion, cursor, size);
+
+        CursorCodec.checkPageSize(size);
+        RatingSort order = parseEnum(RatingSort.class, sort, "sort");
+        boolean firstPage = cursor == null || cursor.isEmpty();
+
+        // One extra row tells whether another page follows
+        Limit limit = Limit.of(size + 1);
+
+        List<HostelRating> ratings;
+        RatingCriterion key = null;
+        if (order == RatingSort.NEWEST) {
+            if (firstPage) {
+                ratings = ratingRepository.findNewestPage(hostelId, limit);
+            } else {
+                String[] parts = CursorCodec.decode(cursor, 2);
+                Timestamp createdAt = Timestamp.from(CursorCodec.parseInstant(parts[0]));
+                ratings = ratingRepository.findNewestPageAfter(hostelId, createdAt,
+                        CursorCodec.parseLong(parts[1]), limit);
+            }
+        } else {
+            key = scoreCriterion(order, criterion);
+            Integer score = null;
+            Long ratingId = null;
+            if (!firstPage) {
+                String[] parts = CursorCodec.decode(cursor, 2);
+                long value = CursorCodec.parseLong(parts[0]);
+                if (value != (int) value) {
+                    throw new InvalidRequestException("Invalid cursor");
+                }
+                score = (int) value;
+                ratingId = CursorCodec.parseLong(parts[1]);
+            }
+            ratings = ratingRepository.findScorePage(hostelId, key, order == RatingSort.LOWEST,
+                    score, ratingId, limit.max());
+        }
+
+        String nextCursor = null;
+        if (ratings.size() > size) {
+            ratings = ratings.subList(0, size);
+            HostelRating last = ratings.get(size - 1);
+            nextCursor = order == RatingSort.NEWEST
+                    ? CursorCodec.encode(last.getCreatedAt().toInstant(), last.getRatingId())
+                    : CursorCodec.encode(scoreKey(last, key), last.getRatingId());
+        }
+
+        return new CursorPage<>(ratings, nextCursor);
+    }
+
+    /**
+     * Retrieves one page of a hostel's ratings feed, optionally with the replies to the
+     * ratings on the page. Replies cost one extra IN query per page, not one per rating.
+     *
+     * @param includeReplies Whether to fetch the page's replies
+     * @return The page of ratings, its replies (if requested) and the cursor for the next page
+     * @see #getRatingsPage(Long, String, String, String, int)
+     */
+    public RatingFeedPage getRatingsFeed(Long hostelId, String sort, String criterion,
+                                         String cursor, int size, boolean includeReplies) {
+        CursorPage<HostelRating> page = getRatingsPage(hostelId, sort, criterion, cursor, size);
+        if (!includeReplies) {
+            return new RatingFeedPage(page, null);
+        }
+
+        List<Long> ratingIds = page.getItems().stream().map(HostelRating::getRatingId).toList();
+        return new RatingFeedPage(page, getRepliesForRatings(ratingIds));
+    }
+
+    /**
+     * The criterion a score order sorts by, or null for the overall score.
+     */
+    private static RatingCriterion scoreCriterion(RatingSort order, String criterion) {
+        if (order != RatingSort.CRITERION) {
+            return null;
+        }
+        if (criterion == null || criterion.isEmpty()) {
+            throw new InvalidRequestException("criterion is required for sort=criterion");
+        }
+        return parseEnum(RatingCriterion.class, criterion, "criterion");
+    }
+
+    /**
+     * The rating's value of the feed's score column, as stored in the cursor.
+     */
+    private static int scoreKey(HostelRating rating, RatingCriterion criterion) {
+        if (criterion == null) {
+            return rating.getCleanlinessRating() + rating.getFoodQualityRating() + rating.getSafetyRating()
+                    + rating.getLocationRating() + rating.getAffordabilityRating();
+        }
+        return switch (criterion) {
+            case CLEANLINESS -> rating.getCleanlinessRating();
+            case FOOD_QUALITY -> rating.getFoodQualityRating();
+            case SAFETY -> rating.getSafetyRating();
+            case LOCATION -> rating.getLocationRating();
+            case AFFORDABILITY -> rating.getAffordabilityRating();
+        };
+    }
+
+    /**
+     * Parses a request parameter into an enum constant, case-insensitively.
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
     /**
      * Calculates and returns the rating summary for a hostel.
      * Computes the average for each of the 5 criteria individually,
      * plus an overall average across all criteria.
+     * Read from the hostel's maintained rating aggregate (one small row)
+     * instead of loading every rating.
      *
      * @param hostelId The ID of the hostel
      * @return RatingDTO containing individual criterion averages and overall average
@@ -118,41 +527,25 @@ public class HostelRatingService {
     public RatingDTO getRatingSummary(Long hostelId) {
         logger.debug("Calculating rating summary for hostel: hostelId={}", hostelId);
 
-        List<HostelRating> ratings = ratingRepository.findByHostelId(hostelId);
+        HostelRatingAggregate aggregate = aggregateService.getAggregate(hostelId);
 
         RatingDTO dto = new RatingDTO();
         dto.setHostelId(hostelId);
 
         // Handle case where hostel has no ratings yet
-        if (ratings == null || ratings.isEmpty()) {
+        long count = aggregate.getRatingCount();
+        if (count == 0) {
             logger.info("No ratings found for hostelId={}", hostelId);
             dto.setOverallRating(0.0);
             return dto;
         }
 
-        // Calculate sum of each criterion across all ratings
-        double cleanlinessSum = 0;
-        double foodQualitySum = 0;
-        double safetySum = 0;
-        double locationSum = 0;
-        double affordabilitySum = 0;
-
-        int count = ratings.size();
-
-        for (HostelRating rating : ratings) {
-            cleanlinessSum += rating.getCleanlinessRating();
-            foodQualitySum += rating.getFoodQualityRating();
-            safetySum += rating.getSafetyRating();
-            locationSum += rating.getLocationRating();
-            affordabilitySum += rating.getAffordabilityRating();
-        }
-
-        // Calculate average for each criterion
-        double cleanlinessAvg = cleanlinessSum / count;
-        double foodQualityAvg = foodQualitySum / count;
-        double safetyAvg = safetySum / count;
-        double locationAvg = locationSum / count;
-        double affordabilityAvg = affordabilitySum / count;
+        // Calculate average for each criterion from the running sums
+        double cleanlinessAvg = (double) aggregate.getCleanlinessSum() / count;
+        double foodQualityAvg = (double) aggregate.getFoodQualitySum() / count;
+        double safetyAvg = (double) aggregate.getSafetySum() / count;
+        double locationAvg = (double) aggregate.getLocationSum() / count;
+        double affordabilityAvg = (double) aggregate.getAffordabilitySum() / count;
 
         // Calculate overall average (average of the 5 criterion averages)
         double overallAvg =
@@ -175,6 +568,18 @@ public class HostelRatingService {
 
         return dto;
     }
+    /**
+     * Retrieves the star distribution of a hostel's ratings: for each of the 5 criteria,
+     * how many ratings gave 1, 2, 3, 4 and 5 stars. Read from maintained counters.
+     *
+     * @param hostelId The ID of the hostel
+     * @return RatingDistributionDTO with 5 counts per criterion
+     */
+    public RatingDistributionDTO getRatingDistribution(Long hostelId) {
+        logger.debug("Fetching rating distribution for hostel: hostelId={}", hostelId);
+        return aggregateService.getDistribution(hostelId);
+    }
+
   // ADD THESE METHODS TO HostelRatingService.java BEFORE THE CLOSING BRACE }
 
     // ========== Review Reply Methods ==========
@@ -238,6 +643,30 @@ public class HostelRatingService {
         return replyRepository.findByRatingId(ratingId).orElse(null);
     }
 
+    /**
+     * Retrieves the replies of several ratings with a single query.
+     *
+     * @param ratingIds The IDs of the ratings (at most MAX_REPLY_BATCH)
+     * @return Map from rating ID to its reply; ratings without a reply are absent
+     * @throws InvalidRequestException if too many IDs are requested
+     */
+    public Map<Long, HostelReviewReply> getRepliesForRatings(Collection<Long> ratingIds) {
+        logger.debug("Fetching replies for {} ratings", ratingIds.size());
+
+        if (ratingIds.size() > MAX_REPLY_BATCH) {
+            throw new InvalidRequestException("At most " + MAX_REPLY_BATCH + " rating IDs per request");
+        }
+        if (ratingIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, HostelReviewReply> replies = new LinkedHashMap<>();
+        for (HostelReviewReply reply : replyRepository.findByRatingIdIn(ratingIds)) {
+            replies.put(reply.getRatingId(), reply);
+        }
+        return replies;
+    }
+
     /**
      * Deletes a reply to a rating.
      *
@@ -0,0 +1,442 @@
+package com.cdac.hostel.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.cdac.hostel.dto.HostelDTO;
+import com.cdac.hostel.dto.HostelSearchQuery;
+import com.cdac.hostel.dto.HostelSearchResult;
+import com.cdac.hostel.model.HostelStatus;
+import com.cdac.hostel.repository.HostelRepository;
+import com.cdac.hostel.util.CursorCodec;
+
+/**
+ * In-memory bitmap index over approved hostels for faceted search.
+ * Every approved hostel occupies a slot, and each filterable value has a bitmap of the
+ * slots that have it: one per facility flag, per city, per locality and per room capacity.
+ * Rent ranges are held in an interval tree (RentIntervalTree), so a budget filter
+ * reports the overlapping hostels in logarithmic time per match. A search intersects the
+ * bitmaps of the requested filters, and facet counts are the cardinalities of the result
+ * intersected with each value's bitmap. A page keeps only the size + 1 lowest hostel IDs
+ * past the cursor while scanning the matches, and sorts just those.
+ *
+ * Built from the database at startup and updated per hostel on approval and rejection:
+ * an update touches only that hostel's slot, and a freed slot is reused by the next hostel
+ * added. The rent tree is rebuilt on the first budget search after a change rather than
+ * on every change. Reads share a read lock; updates take the write lock.
+ */
+@Component
+public class HostelSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostelSearchIndex.class);
+
+    public static final String FACET_CITY = "city";
+    public static final String FACET_LOCALITY = "locality";
+    public static final String FACET_ROOM_CAPACITY = "roomCapacity";
+    public static final String FACET_FACILITY = "facility";
+
+    private static final Comparator<HostelDTO> BY_ID = Comparator.comparing(HostelDTO::getHostelId);
+
+    @Autowired
+    private HostelRepository hostelRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // slot -> hostel, null while the slot is free
+    private final List<HostelDTO> hostels = new ArrayList<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    // Occupied slots; the lowest clear bit is the next slot to fill
+    private final BitSet live = new BitSet();
+
+    private final BitSet wifi = new BitSet();
+    private final BitSet ac = new BitSet();
+    private final BitSet mess = new BitSet();
+    private final BitSet laundry = new BitSet();
+
+    // Normalised (trimmed, lowercased) value -> bitmap
+    private final Map<String, ValueBitmap> cities = new HashMap<>();
+    private final Map<String, ValueBitmap> localities = new HashMap<>();
+    private final Map<Integer, BitSet> capacities = new HashMap<>();
+
+    // Rent range of each hostel; rebuilt by the next budget search once stale
+    private RentIntervalTree rentTree = RentIntervalTree.EMPTY;
+    private boolean rentTreeStale;
+
+    /**
+     * Bitmap of one city or locality, with the spelling first seen for display in facets.
+     */
+    private static final class ValueBitmap {
+        private final String label;
+        private final BitSet slots = new BitSet();
+
+        ValueBitmap(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Indexes every approved hostel at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        List<HostelDTO> approved = hostelRepository.findListingsByStatus(HostelStatus.APPROVED);
+        lock.writeLock().lock();
+        try {
+            rebuild(approved);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Hostel search index built: hostels={}, cities={}, localities={}",
+                    approved.size(), cities.size(), localities.size());
+    }
+
+    /**
+     * Adds an approved hostel, replacing any earlier version of it.
+     * Call after the approval has committed.
+     */
+    public void add(HostelDTO hostel) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(hostel.getHostelId());
+            addSlot(hostel);
+            rentTreeStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a hostel, e.g. on rejection. Unknown IDs are ignored.
+     */
+    public void remove(Long hostelId) {
+        lock.writeLock().lock();
+        try {
+            if (removeSlot(hostelId)) {
+                rentTreeStale = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches approved hostels, in hostel ID order.
+     *
+     * @param query The filters; unset filters match everything
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Number of hostels per page
+     * @return The page of hostels, the total match count and facet counts over all matches
+     */
+    public HostelSearchResult search(HostelSearchQuery query, String cursor, int size) {
+        CursorCodec.checkPageSize(size);
+        long after = cursor == null || cursor.isEmpty()
+                ? Long.MIN_VALUE
+                : CursorCodec.parseLong(CursorCodec.decode(cursor, 1)[0]);
+
+        lockForSearch(query.getMinRent() != null || query.getMaxRent() != null);
+        try {
+            BitSet result = filter(query);
+
+            // Keep the size + 1 lowest IDs past the cursor, highest on top so it is the one evicted
+            PriorityQueue<HostelDTO> page = new PriorityQueue<>(size + 2, BY_ID.reversed());
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                HostelDTO hostel = hostels.get(slot);
+                if (hostel.getHostelId() <= after
+                        || (page.size() > size && hostel.getHostelId() > page.peek().getHostelId())) {
+                    continue;
+                }
+                page.add(hostel);
+                if (page.size() > size + 1) {
+                    page.poll();
+                }
+            }
+            List<HostelDTO> matches = new ArrayList<>(page);
+            matches.sort(BY_ID);
+
+            String nextCursor = null;
+            if (matches.size() > size) {
+                matches.remove(size);
+                nextCursor = CursorCodec.encode(matches.get(size - 1).getHostelId());
+            }
+
+            return new HostelSearchResult(matches, nextCursor, result.cardinality(), facets(result));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Takes the read lock. A budget search that finds the rent tree stale first rebuilds it
+     * under the write lock, then downgrades to the read lock so no change can slip in between.
+     */
+    private void lockForSearch(boolean needsRentTree) {
+        lock.readLock().lock();
+        if (!needsRentTree || !rentTreeStale) {
+            return;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            if (rentTreeStale) {
+                rebuildRentTree();
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========== Filtering and Facets ==========
+
+    private BitSet filter(HostelSearchQuery query) {
+        // Start from the rent matches when a budget is given: usually far fewer than all hostels
+        BitSet result;
+        if (query.getMinRent() != null || query.getMaxRent() != null) {
+            long from = query.getMinRent() != null
+                    ? toPaise(query.getMinRent(), RoundingMode.CEILING) : Long.MIN_VALUE;
+            long to = query.getMaxRent() != null
+                    ? toPaise(query.getMaxRent(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+            result = rentTree.overlapping(from, to);
+        } else {
+            result = (BitSet) live.clone();
+        }
+
+        if (query.getCity() != null && !query.getCity().isBlank()) {
+            result.and(valueBits(cities, query.getCity()));
+        }
+        if (query.getLocality() != null && !query.getLocality().isBlank()) {
+            result.and(valueBits(localities, query.getLocality()));
+        }
+        if (query.getRoomCapacity() != null) {
+            result.and(capacities.getOrDefault(query.getRoomCapacity(), new BitSet()));
+        }
+
+        applyFlag(result, wifi, query.getWifi());
+        applyFlag(result, ac, query.getAc());
+        applyFlag(result, mess, query.getMess());
+        applyFlag(result, laundry, query.getLaundry());
+        return result;
+    }
+
+    private static void applyFlag(BitSet result, BitSet facility, Boolean required) {
+        if (required == null) {
+            return;
+        }
+        if (required) {
+            result.and(facility);
+        } else {
+            result.andNot(facility);
+        }
+    }
+
+    private static BitSet valueBits(Map<String, ValueBitmap> values, String value) {
+        ValueBitmap bitmap = values.get(normalise(value));
+        return bitmap != null ? bitmap.slots : new BitSet();
+    }
+
+    private Map<String, Map<String, Integer>> facets(BitSet result) {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+
+        Map<String, Integer> cityCounts = new HashMap<>();
+        for (ValueBitmap city : cities.values()) {
+            cityCounts.put(city.label, intersectionSize(result, city.slots));
+        }
+        facets.put(FACET_CITY, byCount(cityCounts));
+
+        Map<String, Integer> localityCounts = new HashMap<>();
+        for (ValueBitmap locality : localities.values()) {
+            localityCounts.put(locality.label, intersectionSize(result, locality.slots));
+        }
+        facets.put(FACET_LOCALITY, byCount(localityCounts));
+
+        Map<String, Integer> capacityCounts = new HashMap<>();
+        for (Map.Entry<Integer, BitSet> capacity : capacities.entrySet()) {
+            capacityCounts.put(String.valueOf(capacity.getKey()), intersectionSize(result, capacity.getValue()));
+        }
+        facets.put(FACET_ROOM_CAPACITY, byCount(capacityCounts));
+
+        Map<String, Integer> facilityCounts = new LinkedHashMap<>();
+        facilityCounts.put("wifi", intersectionSize(result, wifi));
+        facilityCounts.put("ac", intersectionSize(result, ac));
+        facilityCounts.put("mess", intersectionSize(result, mess));
+        facilityCounts.put("laundry", intersectionSize(result, laundry));
+        facets.put(FACET_FACILITY, facilityCounts);
+
+        return facets;
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+
+    /**
+     * Non-zero counts, largest first (ties by value).
+     */
+    private static Map<String, Integer> byCount(Map<String, Integer> counts) {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    // ========== Maintenance (write lock held) ==========
+
+    private void rebuild(List<HostelDTO> approved) {
+        hostels.clear();
+        slots.clear();
+        live.clear();
+        wifi.clear();
+        ac.clear();
+        mess.clear();
+        laundry.clear();
+        cities.clear();
+        localities.clear();
+        capacities.clear();
+
+        for (HostelDTO hostel : approved) {
+            addSlot(hostel);
+        }
+        rebuildRentTree();
+    }
+
+    /**
+     * Puts a hostel in the lowest free slot, or a new one at the end.
+     */
+    private void addSlot(HostelDTO hostel) {
+        int slot = live.nextClearBit(0);
+        if (slot == hostels.size()) {
+            hostels.add(hostel);
+        } else {
+            hostels.set(slot, hostel);
+        }
+        slots.put(hostel.getHostelId(), slot);
+        live.set(slot);
+        setBits(hostel, slot);
+    }
+
+    private void setBits(HostelDTO hostel, int slot) {
+        wifi.set(slot, Boolean.TRUE.equals(hostel.getHasWifi()));
+        ac.set(slot, Boolean.TRUE.equals(hostel.getHasAc()));
+        mess.set(slot, Boolean.TRUE.equals(hostel.getHasMess()));
+        laundry.set(slot, Boolean.TRUE.equals(hostel.getHasLaundry()));
+
+        if (hostel.getCity() != null && !hostel.getCity().isBlank()) {
+            cities.computeIfAbsent(normalise(hostel.getCity()), k -> new ValueBitmap(hostel.getCity().trim()))
+                    .slots.set(slot);
+        }
+        if (hostel.getLocality() != null && !hostel.getLocality().isBlank()) {
+            localities.computeIfAbsent(normalise(hostel.getLocality()), k -> new ValueBitmap(hostel.getLocality().trim()))
+                    .slots.set(slot);
+        }
+        if (hostel.getRoomCapacity() != null) {
+            capacities.computeIfAbsent(hostel.getRoomCapacity(), k -> new BitSet()).set(slot);
+        }
+    }
+
+    /**
+     * Clears a hostel's slot from every bitmap. Returns false if it was not indexed.
+     */
+    private boolean removeSlot(Long hostelId) {
+        Integer slot = slots.remove(hostelId);
+        if (slot == null) {
+            return false;
+        }
+        HostelDTO hostel = hostels.set(slot, null);
+        live.clear(slot);
+        wifi.clear(slot);
+        ac.clear(slot);
+        mess.clear(slot);
+        laundry.clear(slot);
+
+        if (hostel.getCity() != null) {
+            clearValue(cities, normalise(hostel.getCity()), slot);
+        }
+        if (hostel.getLocality() != null) {
+            clearValue(localities, normalise(hostel.getLocality()), slot);
+        }
+        if (hostel.getRoomCapacity() != null) {
+            BitSet bits = capacities.get(hostel.getRoomCapacity());
+            if (bits != null) {
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    capacities.remove(hostel.getRoomCapacity());
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void clearValue(Map<String, ValueBitmap> values, String key, int slot) {
+        ValueBitmap bitmap = values.get(key);
+        if (bitmap == null) {
+            return;
+        }
+        bitmap.slots.clear(slot);
+        if (bitmap.slots.isEmpty()) {
+            values.remove(key);
+        }
+    }
+
+    private void rebuildRentTree() {
+        int n = slots.size();
+        long[] lows = new long[n];
+        long[] highs = new long[n];
+        int[] rentSlots = new int[n];
+        int count = 0;
+        for (int slot = 0; slot < hostels.size(); slot++) {
+            HostelDTO hostel = hostels.get(slot);
+            if (hostel == null) {
+                continue;
+            }
+            // A hostel with only one rent bound is treated as having a single rent
+            BigDecimal min = hostel.getMonthlyRentMin() != null
+                    ? hostel.getMonthlyRentMin() : hostel.getMonthlyRentMax();
+            BigDecimal max = hostel.getMonthlyRentMax() != null
+                    ? hostel.getMonthlyRentMax() : hostel.getMonthlyRentMin();
+            if (min == null) {
+                continue;
+            }
+            long low = toPaise(min, RoundingMode.HALF_UP);
+            long high = toPaise(max, RoundingMode.HALF_UP);
+            lows[count] = Math.min(low, high);
+            highs[count] = Math.max(low, high);
+            rentSlots[count] = slot;
+            count++;
+        }
+        rentTree = RentIntervalTree.build(Arrays.copyOf(lows, count), Arrays.copyOf(highs, count),
+                Arrays.copyOf(rentSlots, count));
+        rentTreeStale = false;
+    }
+
+    private static long toPaise(BigDecimal rupees, RoundingMode rounding) {
+        return rupees.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    private static String normalise(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
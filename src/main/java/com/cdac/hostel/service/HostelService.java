@@ -2,17 +2,30 @@ package com.cdac.hostel.service;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.cdac.hostel.client.AuthServiceClient;
+import com.cdac.hostel.dto.CursorPage;
+import com.cdac.hostel.dto.HostelDTO;
+import com.cdac.hostel.dto.HostelSearchQuery;
+import com.cdac.hostel.dto.HostelSearchResult;
+import com.cdac.hostel.dto.NearbyHostelDTO;
+import com.cdac.hostel.dto.RankedHostelDTO;
+import com.cdac.hostel.dto.SuggestionDTO;
 import com.cdac.hostel.model.Hostel;
 import com.cdac.hostel.model.HostelStatus;
 import com.cdac.hostel.repository.HostelRepository;
+import com.cdac.hostel.exception.InvalidRequestException;
 import com.cdac.hostel.exception.ResourceNotFoundException;
+import com.cdac.hostel.util.CursorCodec;
+import com.cdac.hostel.util.GeoCoordinates;
+import com.cdac.hostel.util.TransactionCallbacks;
 
 /**
  * Service layer for hostel management operations.
@@ -24,12 +37,27 @@ public class HostelService {
 
     private static final Logger logger = LoggerFactory.getLogger(HostelService.class);
 
+    // Largest radius accepted by the proximity search
+    public static final double MAX_NEARBY_RADIUS_KM = 50.0;
+
     @Autowired
     private HostelRepository hostelRepository;
 
     @Autowired
     private AuthServiceClient authClient;
 
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private HostelSearchIndex searchIndex;
+
+    @Autowired
+    private HostelGeoIndex geoIndex;
+
+    @Autowired
+    private HostelSuggestIndex suggestIndex;
+
     /**
      * Creates a new hostel submission.
      * Validates that the submitting user exists before creating the hostel.
@@ -53,6 +81,7 @@ public class HostelService {
         // Set submission metadata
         hostel.setSubmittedByUserId(userId);
         hostel.setStatus(HostelStatus.PENDING);
+        resolveCoordinates(hostel);
         
         Hostel savedHostel = hostelRepository.save(hostel);
         logger.info("Hostel created successfully: hostelId={}, name={}, status={}", 
@@ -62,19 +91,77 @@ public class HostelService {
     }
 
     /**
-     * Retrieves all approved hostels visible to public users.
+     * Validates submitted coordinates, or parses them from the map location when none were given.
+     */
+    private void resolveCoordinates(Hostel hostel) {
+        if (hostel.getLatitude() != null || hostel.getLongitude() != null) {
+            if (hostel.getLatitude() == null || hostel.getLongitude() == null
+                    || !GeoCoordinates.isValid(hostel.getLatitude(), hostel.getLongitude())) {
+                throw new InvalidRequestException("latitude and longitude must be given together and within range");
+            }
+            return;
+        }
+        double[] coordinates = GeoCoordinates.parse(hostel.getMapLocation());
+        if (coordinates != null) {
+            hostel.setLatitude(coordinates[0]);
+            hostel.setLongitude(coordinates[1]);
+        }
+    }
+
+    /**
+     * Retrieves a single hostel with all its details, whatever its status.
+     * For admin use only; public callers use getApprovedHostel.
+     *
+     * @param hostelId The ID of the hostel
+     * @return The hostel entity
+     * @throws ResourceNotFoundException if hostel not found
+     */
+    public Hostel getHostel(Long hostelId) {
+        return hostelRepository.findById(hostelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hostel", hostelId));
+    }
+
+    /**
+     * Retrieves a single approved hostel with all its details.
+     * Pending and rejected hostels are reported as not found, so their submissions
+     * and rejection reasons are never served publicly.
+     *
+     * @param hostelId The ID of the hostel
+     * @return The hostel entity
+     * @throws ResourceNotFoundException if no approved hostel has this ID
+     */
+    public Hostel getApprovedHostel(Long hostelId) {
+        return hostelRepository.findByHostelIdAndStatus(hostelId, HostelStatus.APPROVED)
+                .orElseThrow(() -> new ResourceNotFoundException("Hostel", hostelId));
+    }
+
+    /**
+     * Retrieves all approved hostels visible to public users, oldest first.
+     * Returns listing rows with their rating summary; see getHostel for full details.
      *
      * @return List of approved hostels
      */
-    public List<Hostel> getApprovedHostels() {
+    public List<HostelDTO> getApprovedHostels() {
         logger.debug("Fetching all approved hostels");
-        List<Hostel> hostels = hostelRepository.findByStatus(HostelStatus.APPROVED);
+        List<HostelDTO> hostels = hostelRepository.findListingsByStatus(HostelStatus.APPROVED);
         logger.info("Retrieved {} approved hostels", hostels.size());
         return hostels;
     }
+
+    /**
+     * Retrieves all pending hostels as listing rows, oldest first.
+     *
+     * @return List of pending hostels
+     */
+    public List<HostelDTO> getPendingHostelListings() {
+        logger.debug("Fetching pending hostel listings");
+        List<HostelDTO> hostels = hostelRepository.findListingsByStatus(HostelStatus.PENDING);
+        logger.info("Retrieved {} pending hostel listings", hostels.size());
+        return hostels;
+    }
     
     /**
-     * Retrieves all pending hostels awaiting admin approval.
+     * Retrieves all pending hostels awaiting admin approval, with all their details.
      * Used by admin interface to review submissions.
      *
      * @return List of pending hostels
@@ -86,6 +173,176 @@ public class HostelService {
         return hostels;
     }
     
+    /**
+     * Retrieves one page of approved hostels as listing rows, oldest first.
+     *
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Number of hostels per page
+     * @return The page of hostels and the cursor for the next one
+     */
+    public CursorPage<HostelDTO> getApprovedHostelsPage(String cursor, int size) {
+        return getListingsPage(HostelStatus.APPROVED, cursor, size);
+    }
+
+    /**
+     * Retrieves one page of pending hostels as listing rows, oldest first.
+     *
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Number of hostels per page
+     * @return The page of hostels and the cursor for the next one
+     */
+    public CursorPage<HostelDTO> getPendingHostelListingsPage(String cursor, int size) {
+        return getListingsPage(HostelStatus.PENDING, cursor, size);
+    }
+
+    /**
+     * Retrieves one page of pending hostels awaiting admin approval, with all their details, oldest first.
+     *
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Number of hostels per page
+     * @return The page of hostels and the cursor for the next one
+     */
+    public CursorPage<Hostel> getPendingHostelsPage(String cursor, int size) {
+        return getHostelsPage(HostelStatus.PENDING, cursor, size);
+    }
+
+    /**
+     * Keyset pagination on (createdAt, hostelId).
+     * Fetches one extra row to know whether another page follows.
+     */
+    private CursorPage<Hostel> getHostelsPage(HostelStatus status, String cursor, int size) {
+        CursorCodec.checkPageSize(size);
+        logger.debug("Fetching hostel page: status={}, cursor={}, size={}", status, cursor, size);
+
+        List<Hostel> hostels;
+        if (cursor == null || cursor.isEmpty()) {
+            hostels = hostelRepository.findPageByStatus(status, Limit.of(size + 1));
+        } else {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            Timestamp createdAt = Timestamp.from(CursorCodec.parseInstant(parts[0]));
+            long hostelId = CursorCodec.parseLong(parts[1]);
+            hostels = hostelRepository.findPageByStatusAfter(status, createdAt, hostelId, Limit.of(size + 1));
+        }
+
+        String nextCursor = null;
+        if (hostels.size() > size) {
+            hostels = hostels.subList(0, size);
+            Hostel last = hostels.get(size - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt().toInstant(), last.getHostelId());
+        }
+
+        return new CursorPage<>(hostels, nextCursor);
+    }
+
+    /**
+     * Keyset pagination on (createdAt, hostelId) over the listing projection.
+     * Same cursor format as getHostelsPage.
+     */
+    private CursorPage<HostelDTO> getListingsPage(HostelStatus status, String cursor, int size) {
+        CursorCodec.checkPageSize(size);
+        logger.debug("Fetching hostel listing page: status={}, cursor={}, size={}", status, cursor, size);
+
+        List<HostelDTO> hostels;
+        if (cursor == null || cursor.isEmpty()) {
+            hostels = hostelRepository.findListingPageByStatus(status, Limit.of(size + 1));
+        } else {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            Timestamp createdAt = Timestamp.from(CursorCodec.parseInstant(parts[0]));
+            long hostelId = CursorCodec.parseLong(parts[1]);
+            hostels = hostelRepository.findListingPageByStatusAfter(status, createdAt, hostelId, Limit.of(size + 1));
+        }
+
+        String nextCursor = null;
+        if (hostels.size() > size) {
+            hostels = hostels.subList(0, size);
+            HostelDTO last = hostels.get(size - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt().toInstant(), last.getHostelId());
+        }
+
+        return new CursorPage<>(hostels, nextCursor);
+    }
+
+    /**
+     * Faceted search over approved hostels, served from the in-memory search index.
+     *
+     * @param query The filters (city, locality, rent budget, room capacity, facilities)
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Number of hostels per page
+     * @return The page of matching hostels with the total match count and facet counts
+     */
+    public HostelSearchResult searchHostels(HostelSearchQuery query, String cursor, int size) {
+        logger.debug("Searching hostels: query={}, cursor={}, size={}", query, cursor, size);
+        HostelSearchResult result = searchIndex.search(query, cursor, size);
+        result.setItems(result.getItems().stream().map(this::withCurrentRating).toList());
+        return result;
+    }
+
+    /**
+     * Finds approved hostels within a radius of a point, nearest first, served from the
+     * in-memory geo index. Hostels without coordinates are never returned.
+     *
+     * @param latitude Latitude of the centre
+     * @param longitude Longitude of the centre
+     * @param radiusKm Search radius in kilometres (at most MAX_NEARBY_RADIUS_KM)
+     * @param limit Maximum number of hostels
+     * @param minRating Optional minimum average rating (1-5); unrated hostels are excluded when set
+     * @return Hostels with their distance and rating summary, ordered by distance
+     * @throws InvalidRequestException if a parameter is out of range
+     */
+    public List<NearbyHostelDTO> findNearbyHostels(double latitude, double longitude, double radiusKm,
+                                                   int limit, Double minRating) {
+        if (!GeoCoordinates.isValid(latitude, longitude)) {
+            throw new InvalidRequestException("lat must be within -90..90 and lon within -180..180");
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_NEARBY_RADIUS_KM)) {
+            throw new InvalidRequestException("radiusKm must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM);
+        }
+        CursorCodec.checkPageSize(limit);
+
+        Predicate<HostelDTO> filter = hostel -> true;
+        if (minRating != null) {
+            filter = hostel -> {
+                RankedHostelDTO ranked = rankingService.getRankedHostel(hostel.getHostelId());
+                return ranked != null && ranked.getRatingCount() > 0 && ranked.getSimpleAverage() >= minRating;
+            };
+        }
+
+        List<NearbyHostelDTO> nearby = geoIndex.nearby(latitude, longitude, radiusKm, limit, filter).stream()
+                .map(hit -> new NearbyHostelDTO(withCurrentRating(hit.getHostel()), hit.getDistanceKm()))
+                .toList();
+
+        logger.debug("Nearby hostels: lat={}, lon={}, radiusKm={}, minRating={}, found={}",
+                     latitude, longitude, radiusKm, minRating, nearby.size());
+        return nearby;
+    }
+
+    /**
+     * Copy of an indexed listing with its rating summary from the current ranking snapshot,
+     * which follows new ratings more closely than the view the index was built from.
+     */
+    private HostelDTO withCurrentRating(HostelDTO hostel) {
+        RankedHostelDTO ranked = rankingService.getRankedHostel(hostel.getHostelId());
+        return ranked != null
+                ? hostel.withRating(ranked.getSimpleAverage(), ranked.getRatingCount())
+                : hostel.withRating(0.0, 0L);
+    }
+
+    /**
+     * Autocomplete for the search box: approved hostel names, localities and landmarks
+     * with a word starting with the typed prefix, most rated first.
+     *
+     * @param prefix The typed prefix (case-insensitive)
+     * @param limit Maximum number of suggestions
+     * @return Up to limit suggestions
+     * @throws InvalidRequestException if limit is outside 1..MAX_SUGGESTIONS
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > HostelSuggestIndex.MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("limit must be between 1 and " + HostelSuggestIndex.MAX_SUGGESTIONS);
+        }
+        return suggestIndex.suggest(prefix, limit);
+    }
+
     /**
      * Approves a pending hostel, making it visible to public users.
      * Sets the approval timestamp and changes status to APPROVED.
@@ -107,6 +364,13 @@ public class HostelService {
         hostel.setApprovedAt(new Timestamp(System.currentTimeMillis()));
         
         Hostel approvedHostel = hostelRepository.save(hostel);
+        rankingService.markDirty();
+        HostelDTO listing = HostelDTO.of(approvedHostel);
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.add(listing);
+            geoIndex.add(listing);
+            suggestIndex.add(listing);
+        });
         logger.info("Hostel approved successfully: hostelId={}, name={}", 
                     approvedHostel.getHostelId(), approvedHostel.getHostelName());
         
@@ -136,6 +400,12 @@ public class HostelService {
         hostel.setRejectionReason(reason);
         
         Hostel rejectedHostel = hostelRepository.save(hostel);
+        rankingService.markDirty();
+        TransactionCallbacks.afterCommit(() -> {
+            searchIndex.remove(hostelId);
+            geoIndex.remove(hostelId);
+            suggestIndex.remove(hostelId);
+        });
         logger.info("Hostel rejected successfully: hostelId={}, name={}", 
                     rejectedHostel.getHostelId(), rejectedHostel.getHostelName());
         
@@ -0,0 +1,249 @@
+package com.cdac.hostel.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cdac.hostel.dto.HostelDTO;
+import com.cdac.hostel.dto.RankedHostelDTO;
+import com.cdac.hostel.dto.SuggestionDTO.Type;
+import com.cdac.hostel.dto.SuggestionDTO;
+import com.cdac.hostel.model.HostelStatus;
+import com.cdac.hostel.repository.HostelRepository;
+
+/**
+ * In-memory prefix autocomplete over approved hostels' names, localities and landmarks.
+ * Every word start of a suggestion's text is a key in a SuggestionTrie, so "depot" finds
+ * "Kothrud Depot", and suggestions are ranked by rating count.
+ *
+ * The trie is updated in place: approving or rejecting a hostel touches only the
+ * suggestions of that hostel, its locality and its landmark, and the periodic refresh
+ * re-ranks only suggestions whose rating count changed. Lookups share a read lock;
+ * updates take the write lock.
+ */
+@Component
+public class HostelSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostelSuggestIndex.class);
+
+    // Suggestions cached per trie node, and the most a lookup can return
+    public static final int MAX_SUGGESTIONS = 10;
+
+    @Autowired
+    private HostelRepository hostelRepository;
+
+    @Autowired
+    private RankingService rankingService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Approved hostels and the rating count each last contributed; guarded by lock
+    private final Map<Long, IndexedHostel> hostels = new HashMap<>();
+
+    // Normalised locality or landmark -> totals over its hostels; guarded by lock
+    private final Map<String, Combined> localities = new HashMap<>();
+    private final Map<String, Combined> landmarks = new HashMap<>();
+
+    private SuggestionTrie trie = new SuggestionTrie();
+
+    private static final class IndexedHostel {
+        private final HostelDTO hostel;
+        private long ratingCount;
+
+        IndexedHostel(HostelDTO hostel, long ratingCount) {
+            this.hostel = hostel;
+            this.ratingCount = ratingCount;
+        }
+    }
+
+    /**
+     * One locality or landmark suggestion, with the spelling first seen for display.
+     */
+    private static final class Combined {
+        private final String label;
+        private int hostels;
+        private long ratingCount;
+
+        Combined(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Indexes every approved hostel at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        List<HostelDTO> approved = hostelRepository.findListingsByStatus(HostelStatus.APPROVED);
+        lock.writeLock().lock();
+        try {
+            hostels.clear();
+            localities.clear();
+            landmarks.clear();
+            trie = new SuggestionTrie();
+            for (HostelDTO hostel : approved) {
+                addHostel(hostel, ratingCount(hostel.getHostelId()));
+            }
+            logger.info("Hostel suggestion index built: hostels={}, suggestions={}", hostels.size(), trie.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an approved hostel, replacing any earlier version of it. Call after the approval has committed.
+     */
+    public void add(HostelDTO hostel) {
+        long ratingCount = ratingCount(hostel.getHostelId());
+        lock.writeLock().lock();
+        try {
+            removeHostel(hostel.getHostelId());
+            addHostel(hostel, ratingCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a hostel, e.g. on rejection. Unknown IDs are ignored.
+     */
+    public void remove(Long hostelId) {
+        lock.writeLock().lock();
+        try {
+            removeHostel(hostelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-ranks suggestions whose rating count changed, so suggestions follow new ratings.
+     * Counts are read from the ranking snapshot before the write lock is taken.
+     */
+    @Scheduled(fixedDelayString = "${hostel.suggest.refresh-interval-ms:60000}",
+               initialDelayString = "${hostel.suggest.refresh-interval-ms:60000}")
+    public void refresh() {
+        List<Long> hostelIds;
+        lock.readLock().lock();
+        try {
+            hostelIds = new ArrayList<>(hostels.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, Long> counts = new HashMap<>(hostelIds.size());
+        for (Long hostelId : hostelIds) {
+            counts.put(hostelId, ratingCount(hostelId));
+        }
+
+        int changed = 0;
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Long> count : counts.entrySet()) {
+                IndexedHostel indexed = hostels.get(count.getKey());
+                if (indexed == null || indexed.ratingCount == count.getValue()) {
+                    continue;
+                }
+                long delta = count.getValue() - indexed.ratingCount;
+                indexed.ratingCount = count.getValue();
+                HostelDTO hostel = indexed.hostel;
+                if (hasText(hostel.getHostelName())) {
+                    trie.put(hostelSuggestion(hostel, indexed.ratingCount));
+                }
+                adjust(localities, Type.LOCALITY, hostel.getLocality(), 0, delta);
+                adjust(landmarks, Type.LANDMARK, hostel.getLandmark(), 0, delta);
+                changed++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Hostel suggestions refreshed: hostels={}, changed={}", counts.size(), changed);
+    }
+
+    /**
+     * Suggestions whose text has a word starting with the prefix, most rated first.
+     *
+     * @param prefix What the user has typed so far (case-insensitive)
+     * @param limit Maximum number of suggestions, capped at MAX_SUGGESTIONS
+     * @return Up to limit suggestions
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== Updates (write lock held) ==========
+
+    /**
+     * Adds a hostel's name suggestion and its share of its locality and landmark suggestions.
+     */
+    private void addHostel(HostelDTO hostel, long ratingCount) {
+        hostels.put(hostel.getHostelId(), new IndexedHostel(hostel, ratingCount));
+        if (hasText(hostel.getHostelName())) {
+            trie.put(hostelSuggestion(hostel, ratingCount));
+        }
+        adjust(localities, Type.LOCALITY, hostel.getLocality(), 1, ratingCount);
+        adjust(landmarks, Type.LANDMARK, hostel.getLandmark(), 1, ratingCount);
+    }
+
+    private void removeHostel(Long hostelId) {
+        IndexedHostel indexed = hostels.remove(hostelId);
+        if (indexed == null) {
+            return;
+        }
+        HostelDTO hostel = indexed.hostel;
+        if (hasText(hostel.getHostelName())) {
+            trie.remove(hostelSuggestion(hostel, indexed.ratingCount));
+        }
+        adjust(localities, Type.LOCALITY, hostel.getLocality(), -1, -indexed.ratingCount);
+        adjust(landmarks, Type.LANDMARK, hostel.getLandmark(), -1, -indexed.ratingCount);
+    }
+
+    /**
+     * Updates a locality or landmark total and its suggestion; drops both once no hostel has the value.
+     */
+    private void adjust(Map<String, Combined> values, Type type, String text, int hostelDelta, long ratingDelta) {
+        if (!hasText(text)) {
+            return;
+        }
+        String key = SuggestionTrie.normalise(text);
+        Combined combined = values.computeIfAbsent(key, k -> new Combined(text.trim()));
+        combined.hostels += hostelDelta;
+        combined.ratingCount += ratingDelta;
+
+        SuggestionDTO suggestion = new SuggestionDTO(combined.label, type, null, combined.ratingCount);
+        if (combined.hostels == 0) {
+            values.remove(key);
+            trie.remove(suggestion);
+        } else {
+            trie.put(suggestion);
+        }
+    }
+
+    private static SuggestionDTO hostelSuggestion(HostelDTO hostel, long ratingCount) {
+        return new SuggestionDTO(hostel.getHostelName().trim(), Type.HOSTEL, hostel.getHostelId(), ratingCount);
+    }
+
+    private long ratingCount(Long hostelId) {
+        RankedHostelDTO ranked = rankingService.getRankedHostel(hostelId);
+        return ranked != null ? ranked.getRatingCount() : 0L;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
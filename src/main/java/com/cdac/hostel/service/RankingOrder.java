@@ -0,0 +1,101 @@
+package com.cdac.hostel.service;
+
+/**
+ * Top-K selection over ranking scores held in primitive arrays.
+ * Uses a bounded min-heap of positions, so picking the best K of N candidates
+ * costs O(N log K) time and O(K) memory. Ties are broken by lower hostel ID.
+ */
+final class RankingOrder {
+
+    private RankingOrder() {
+    }
+
+    /**
+     * Selects the best-scoring positions, best first.
+     *
+     * @param scores Score per position
+     * @param hostelIds Hostel ID per position, used to break ties
+     * @param candidates Positions to choose from, or null for all positions
+     * @param limit Maximum number of positions to return
+     * @return Up to limit positions ordered by score (descending)
+     */
+    static int[] top(double[] scores, long[] hostelIds, int[] candidates, int limit) {
+        int candidateCount = candidates != null ? candidates.length : scores.length;
+        int k = Math.min(limit, candidateCount);
+        if (k <= 0) {
+            return new int[0];
+        }
+
+        // Min-heap on rank: heap[0] is the worst of the best k seen so far
+        int[] heap = new int[k];
+        int size = 0;
+
+        for (int c = 0; c < candidateCount; c++) {
+            int position = candidates != null ? candidates[c] : c;
+            if (size < k) {
+                heap[size] = position;
+                siftUp(heap, size, scores, hostelIds);
+                size++;
+            } else if (ranksBefore(position, heap[0], scores, hostelIds)) {
+                heap[0] = position;
+                siftDown(heap, size, scores, hostelIds);
+            }
+        }
+
+        // Drain worst-first into the result from the back
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores, hostelIds);
+        }
+        return result;
+    }
+
+    /**
+     * Whether position a ranks ahead of position b.
+     */
+    static boolean ranksBefore(int a, int b, double[] scores, long[] hostelIds) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        return hostelIds[a] < hostelIds[b];
+    }
+
+    private static void siftUp(int[] heap, int index, double[] scores, long[] hostelIds) {
+        int position = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], position, scores, hostelIds)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = position;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores, long[] hostelIds) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int position = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            // Pick the lower-ranked child so the worst stays on top
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], scores, hostelIds)) {
+                child++;
+            }
+            if (!ranksBefore(position, heap[child], scores, hostelIds)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = position;
+    }
+}
@@ -1,50 +1,88 @@
 package com.cdac.hostel.service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.cdac.hostel.dto.CursorPage;
+import com.cdac.hostel.dto.HostelRankingRow;
 import com.cdac.hostel.dto.RankedHostelDTO;
-import com.cdac.hostel.model.Hostel;
+import com.cdac.hostel.dto.RankingQuery;
+import com.cdac.hostel.dto.RatingTotals;
+import com.cdac.hostel.exception.InvalidRequestException;
+import com.cdac.hostel.model.HostelCategoriesMapping;
+import com.cdac.hostel.model.HostelRatingAggregate;
 import com.cdac.hostel.model.HostelStatus;
+import com.cdac.hostel.model.RatingCriterion;
+import com.cdac.hostel.repository.CategoryMappingRepository;
+import com.cdac.hostel.repository.HostelRatingAggregateRepository;
 import com.cdac.hostel.repository.HostelRatingRepository;
-import com.cdac.hostel.repository.HostelRepository;
+import com.cdac.hostel.util.CursorCodec;
 
 /**
  * Service layer for hostel ranking operations.
- * Implements Bayesian average ranking algorithm to fairly rank hostels
- * considering both rating quality and quantity.
- * 
- * Formula: Bayesian Average = (C * m + R * v) / (m + v)
- * Where:
- * - C = Global average rating across all hostels (prior mean)
- * - m = Confidence parameter (minimum votes required)
- * - R = Average rating for this hostel
- * - v = Number of votes (ratings) for this hostel
+ * Ranks hostels with a pluggable RankingStrategy (Bayesian average by default, or
+ * Wilson / Dirichlet lower bounds) to fairly account for both rating quality and quantity.
+ * The strategy is chosen per request or by hostel.ranking.strategy.
+ *
+ * Rankings are served from an immutable pre-sorted snapshot that a background job
+ * recomputes after ratings or approvals change. C is read from the running totals
+ * kept by RatingStatisticsService rather than an AVG over every rating.
+ *
+ * Personalised rankings weight the 5 criteria individually: R and C become the
+ * weighted averages of the per-criterion averages, scored straight from the snapshot arrays.
+ * The decayed mode weights each rating by exp(-lambda * age) using incrementally
+ * maintained decayed totals, so recent reviews count more than old ones.
  */
 @Service
 public class RankingService {
 
     private static final Logger logger = LoggerFactory.getLogger(RankingService.class);
-    
-    // Confidence parameter: minimum number of ratings to trust the average
-    // Hostels with fewer ratings will be pulled toward the global average
-    private static final int CONFIDENCE_PARAMETER = 5;
 
     @Autowired
-    private HostelRepository hostelRepository;
+    private HostelRatingRepository ratingRepository;
 
     @Autowired
-    private HostelRatingRepository ratingRepository;
+    private HostelRatingAggregateRepository aggregateRepository;
+
+    @Autowired
+    private RatingStatisticsService statisticsService;
+
+    @Autowired
+    private RatingDecay ratingDecay;
+
+    @Autowired
+    private RankingStrategies strategies;
+
+    @Autowired
+    private BayesianRankingStrategy bayesianStrategy;
+
+    @Autowired
+    private CategoryMappingRepository categoryMappingRepository;
+
+    // Upper bound on how old a dirty snapshot may get before reads recompute it inline
+    @Value("${hostel.ranking.max-staleness-ms:30000}")
+    private long maxStalenessMs;
+
+    // Current ranking, swapped atomically on recompute; null until first computed
+    private final AtomicReference<RankingSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
 
     /**
      * Calculates the Bayesian average for a specific hostel.
+     * Reads the hostel's rating average and count from its maintained aggregate.
      * 
      * @param hostelId The ID of the hostel
      * @return The Bayesian average rating (1-5 scale)
@@ -52,26 +90,16 @@ public class RankingService {
     public double calculateBayesianAverage(Long hostelId) {
         logger.debug("Calculating Bayesian average for hostel: hostelId={}", hostelId);
 
-        // Get hostel's average rating (R)
-        Double hostelAverage = ratingRepository.getAverageOverallRating(hostelId);
-        if (hostelAverage == null) {
-            hostelAverage = 0.0;
-        }
-
-        // Get hostel's rating count (v)
-        long ratingCount = ratingRepository.countByHostelId(hostelId);
+        HostelRatingAggregate aggregate = aggregateRepository.findById(hostelId).orElse(null);
 
-        // Get global average rating (C)
-        Double globalAverage = ratingRepository.getGlobalAverageRating();
-        if (globalAverage == null) {
-            globalAverage = 3.0; // Default to middle rating if no ratings exist
-        }
+        // Hostel's average rating (R) and rating count (v)
+        double hostelAverage = aggregate != null ? aggregate.getOverallAverage() : 0.0;
+        long ratingCount = aggregate != null ? aggregate.getRatingCount() : 0L;
 
-        // Confidence parameter (m)
-        int m = CONFIDENCE_PARAMETER;
+        // Global average rating (C)
+        double globalAverage = statisticsService.getGlobalAverage();
 
-        // Bayesian Average = (C * m + R * v) / (m + v)
-        double bayesianAverage = (globalAverage * m + hostelAverage * ratingCount) / (m + ratingCount);
+        double bayesianAverage = bayesianStrategy.score(globalAverage, hostelAverage, ratingCount, Double.NaN);
 
         logger.info("Bayesian average calculated: hostelId={}, bayesian={}, simple={}, count={}, global={}", 
                     hostelId, bayesianAverage, hostelAverage, ratingCount, globalAverage);
@@ -80,63 +108,449 @@ public class RankingService {
     }
 
     /**
-     * Retrieves all approved hostels ranked by Bayesian average.
-     * Hostels with higher Bayesian averages appear first.
+     * Looks up one approved hostel in the current ranking snapshot.
+     * Cheap enough to call per hostel when filtering other listings by rating.
      *
-     * @return List of ranked hostels sorted by Bayesian average (descending)
+     * @param hostelId The ID of the hostel
+     * @return The hostel's ranking entry (default-strategy score, average, count), or null if it is not ranked
      */
-    public List<RankedHostelDTO> getRankedHostels() {
-        logger.info("Fetching ranked hostels");
-
-        // Get all approved hostels
-        List<Hostel> hostels = hostelRepository.findByStatus(HostelStatus.APPROVED);
+    public RankedHostelDTO getRankedHostel(Long hostelId) {
+        RankingSnapshot current = currentSnapshot();
+        int position = current.positionOf(hostelId);
+        if (position < 0) {
+            return null;
+        }
+        return current.toDto(position, current.getScore(position), current.getSimpleAverage(position));
+    }
 
-        // Calculate Bayesian average for each and create DTOs
-        List<RankedHostelDTO> rankedHostels = new ArrayList<>();
+    /**
+     * Retrieves all approved hostels ranked by the requested (or default) strategy.
+     * Hostels with higher scores appear first.
+     * Served from the current ranking snapshot; the database is only hit when
+     * the snapshot is missing or older than the configured staleness bound.
+     *
+     * @param query Optional ranking options (criterion weights, decay, strategy); null for the default ranking
+     * @return List of ranked hostels sorted by score (descending)
+     */
+    public List<RankedHostelDTO> getRankedHostels(RankingQuery query) {
+        logger.debug("Fetching ranked hostels: query={}", query);
 
-        for (Hostel hostel : hostels) {
-            RankedHostelDTO dto = new RankedHostelDTO();
-            dto.setHostelId(hostel.getHostelId());
-            dto.setHostelName(hostel.getHostelName());
-            
-            // Calculate Bayesian average
-            double bayesianAvg = calculateBayesianAverage(hostel.getHostelId());
-            dto.setBayesianAverage(bayesianAvg);
+        RankingSnapshot current = currentSnapshot();
+        return rank(current, query, null, current.size());
+    }
 
-            // Get simple average for comparison
-            Double simpleAvg = ratingRepository.getAverageOverallRating(hostel.getHostelId());
-            dto.setSimpleAverage(simpleAvg != null ? simpleAvg : 0.0);
+    /**
+     * Retrieves one page of the ranking, using keyset pagination on (score, hostelId).
+     * The cursor identifies the last hostel of the previous page, so pages stay
+     * consistent even when the snapshot is recomputed in between.
+     *
+     * @param query Optional ranking options; must be the same for every page
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param size Number of hostels per page
+     * @return The page of ranked hostels and the cursor for the next one
+     */
+    public CursorPage<RankedHostelDTO> getRankedHostelsPage(RankingQuery query, String cursor, int size) {
+        logger.debug("Fetching ranked hostel page: query={}, cursor={}, size={}", query, cursor, size);
 
-            // Get rating count
-            long count = ratingRepository.countByHostelId(hostel.getHostelId());
-            dto.setRatingCount(count);
+        CursorCodec.checkPageSize(size);
 
-            rankedHostels.add(dto);
+        RankingCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            after = new RankingCursor(CursorCodec.parseDouble(parts[0]), CursorCodec.parseLong(parts[1]));
         }
 
-        // Sort by Bayesian average (descending)
-        List<RankedHostelDTO> sorted = rankedHostels.stream()
-                .sorted(Comparator.comparing(RankedHostelDTO::getBayesianAverage).reversed())
-                .collect(Collectors.toList());
+        // One extra entry tells whether another page follows
+        List<RankedHostelDTO> items = rank(currentSnapshot(), query, after, size + 1);
 
-        logger.info("Ranked {} hostels by Bayesian average", sorted.size());
+        String nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            RankedHostelDTO last = items.get(size - 1);
+            nextCursor = CursorCodec.encode(last.getBayesianAverage(), last.getHostelId());
+        }
 
-        return sorted;
+        return new CursorPage<>(items, nextCursor);
     }
 
     /**
      * Retrieves top N ranked hostels.
+     * The default ranking copies only the first N entries of the pre-sorted snapshot;
+     * a personalised ranking selects the best N with a bounded heap in O(hostels * log N).
      *
      * @param limit Number of top hostels to retrieve
+     * @param query Optional ranking options (criterion weights, decay, strategy); null for the default ranking
      * @return List of top N ranked hostels
+     * @throws InvalidRequestException if limit is not positive
      */
-    public List<RankedHostelDTO> getTopRankedHostels(int limit) {
-        logger.info("Fetching top {} ranked hostels", limit);
+    public List<RankedHostelDTO> getTopRankedHostels(int limit, RankingQuery query) {
+        logger.debug("Fetching top {} ranked hostels: query={}", limit, query);
 
-        List<RankedHostelDTO> allRanked = getRankedHostels();
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be at least 1");
+        }
+
+        return rank(currentSnapshot(), query, null, limit);
+    }
 
-        return allRanked.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+    /**
+     * Returns the best entries of the snapshot for the query, optionally only those
+     * ranked after a cursor. The default ranking is copied in snapshot order, with the
+     * cursor located by binary search; a category restricts the candidates to the
+     * positions listed in the snapshot's category index.
+     */
+    private List<RankedHostelDTO> rank(RankingSnapshot current, RankingQuery query,
+                                       RankingCursor after, int limit) {
+        int[] candidates = query != null && query.getCategoryId() != null
+                ? current.getCategoryPositions(query.getCategoryId())
+                : null;
+
+        if (isSnapshotOrder(query)) {
+            int start = after != null ? firstAfter(current, candidates, after) : 0;
+            return candidates != null
+                    ? current.toDtos(candidates, start, limit)
+                    : current.toDtos(start, (int) Math.min((long) start + limit, current.size()));
+        }
+        return rankCustom(current, query, candidates, after, limit);
+    }
+
+    /**
+     * Whether the query asks for the order the snapshot is already sorted in.
+     */
+    private boolean isSnapshotOrder(RankingQuery query) {
+        if (query == null) {
+            return true;
+        }
+        return !query.hasWeights() && !query.isDecayed()
+                && strategies.resolve(query.getStrategy()) == strategies.getDefault();
+    }
+
+    /**
+     * Index of the first candidate (or position, when candidates is null) ranked after the cursor.
+     * Candidates are in snapshot order, so "ranked after" flips from false to true exactly once.
+     */
+    private static int firstAfter(RankingSnapshot current, int[] candidates, RankingCursor after) {
+        long[] hostelIds = current.getHostelIds();
+        int lo = 0;
+        int hi = candidates != null ? candidates.length : current.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int position = candidates != null ? candidates[mid] : mid;
+            if (after.precedes(current.getScore(position), hostelIds[position])) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Scores every hostel in the snapshot according to the query and returns the best
+     * candidates ranked after the cursor. Works purely on the snapshot's primitive arrays.
+     */
+    private List<RankedHostelDTO> rankCustom(RankingSnapshot current, RankingQuery query,
+                                             int[] candidates, RankingCursor after, int limit) {
+        int n = current.size();
+        double[] scores = new double[n];
+        double[] simpleAverages = new double[n];
+
+        RankingStrategy strategy = query.isDecayed() || query.hasWeights()
+                ? strategies.resolveWithoutSecondMoment(query.getStrategy())
+                : strategies.resolve(query.getStrategy());
+
+        if (query.isDecayed()) {
+            if (query.hasWeights()) {
+                throw new InvalidRequestException("Criterion weights cannot be combined with decayed ranking");
+            }
+            scoreDecayed(current, strategy, scores, simpleAverages);
+        } else if (query.hasWeights()) {
+            scoreWeighted(current, strategy, normalise(query), scores, simpleAverages);
+        } else {
+            scoreOverall(current, strategy, scores, simpleAverages);
+        }
+
+        long[] hostelIds = current.getHostelIds();
+        if (after != null) {
+            candidates = filterAfter(scores, hostelIds, candidates, after);
+        }
+
+        int[] order = RankingOrder.top(scores, hostelIds, candidates, limit);
+
+        List<RankedHostelDTO> result = new ArrayList<>(order.length);
+        for (int position : order) {
+            result.add(current.toDto(position, scores[position], simpleAverages[position]));
+        }
+        return result;
+    }
+
+    /**
+     * Keeps only the candidates (or positions, when candidates is null) ranked after the cursor.
+     */
+    private static int[] filterAfter(double[] scores, long[] hostelIds, int[] candidates, RankingCursor after) {
+        int count = candidates != null ? candidates.length : scores.length;
+        int[] kept = new int[count];
+        int size = 0;
+        for (int c = 0; c < count; c++) {
+            int position = candidates != null ? candidates[c] : c;
+            if (after.precedes(scores[position], hostelIds[position])) {
+                kept[size++] = position;
+            }
+        }
+        return Arrays.copyOf(kept, size);
+    }
+
+    /**
+     * Overall mode with a non-default strategy: the snapshot's own averages and moments,
+     * rescored.
+     */
+    private void scoreOverall(RankingSnapshot current, RankingStrategy strategy,
+                              double[] scores, double[] simpleAverages) {
+        double prior = statisticsService.getGlobalAverage();
+
+        for (int i = 0; i < scores.length; i++) {
+            simpleAverages[i] = current.getSimpleAverage(i);
+            scores[i] = strategy.score(prior, simpleAverages[i], current.getRatingCount(i),
+                    current.getMeanOfSquares(i));
+        }
+    }
+
+    /**
+     * Weighted mode: R is the weighted mean of the hostel's criterion averages and
+     * C the same weighting of the global criterion averages.
+     */
+    private void scoreWeighted(RankingSnapshot current, RankingStrategy strategy, double[] w,
+                               double[] scores, double[] simpleAverages) {
+        RatingCriterion[] criteria = RatingCriterion.values();
+
+        // Weighted prior: weighted mean of the global per-criterion averages
+        RatingTotals totals = statisticsService.getTotals();
+        double prior = 0.0;
+        for (RatingCriterion criterion : criteria) {
+            prior += w[criterion.ordinal()] * totals.getCriterionAverage(criterion);
+        }
+
+        for (int i = 0; i < scores.length; i++) {
+            long count = current.getRatingCount(i);
+            double weighted = 0.0;
+            if (count > 0) {
+                for (RatingCriterion criterion : criteria) {
+                    weighted += w[criterion.ordinal()] * current.getCriterionSum(criterion, i);
+                }
+                weighted /= count;
+            }
+            simpleAverages[i] = weighted;
+            scores[i] = strategy.score(prior, weighted, count, Double.NaN);
+        }
+    }
+
+    /**
+     * Decayed mode: each rating counts exp(-lambda * age), so v becomes the decayed weight
+     * and R the decay-weighted average. The stored totals are brought from their anchor
+     * time to now with a single factor per hostel.
+     */
+    private void scoreDecayed(RankingSnapshot current, RankingStrategy strategy,
+                              double[] scores, double[] simpleAverages) {
+        double prior = statisticsService.getGlobalAverage();
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < scores.length; i++) {
+            double storedWeight = current.getDecayedWeight(i);
+            double decayedAverage = storedWeight > 0 ? current.getDecayedScoreSum(i) / storedWeight : 0.0;
+            double effectiveCount = storedWeight * ratingDecay.factor(now - current.getDecayAnchor(i));
+
+            simpleAverages[i] = decayedAverage;
+            scores[i] = strategy.score(prior, decayedAverage, effectiveCount, Double.NaN);
+        }
+    }
+
+    /**
+     * Validates the weights and scales them to sum to 1.
+     */
+    private static double[] normalise(RankingQuery query) {
+        double[] w = query.weightArray();
+        double sum = 0.0;
+        for (double weight : w) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new InvalidRequestException("Criterion weights must be non-negative numbers");
+            }
+            sum += weight;
+        }
+        if (sum == 0.0) {
+            throw new InvalidRequestException("At least one criterion weight must be positive");
+        }
+        for (int i = 0; i < w.length; i++) {
+            w[i] /= sum;
+        }
+        return w;
+    }
+
+    // ========== Ranking Snapshot Maintenance ==========
+
+    /**
+     * Flags the ranking as out of date.
+     * Called after ratings are written or hostels are approved/rejected;
+     * the background refresh picks the change up on its next run.
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * Background refresh of the ranking snapshot.
+     * Recomputes when the ranking was marked dirty or the snapshot exceeded the staleness bound.
+     */
+    @Scheduled(fixedDelayString = "${hostel.ranking.refresh-interval-ms:5000}")
+    public void refreshSnapshot() {
+        RankingSnapshot current = snapshot.get();
+        if (current == null || dirty.get() || isExpired(current)) {
+            recomputeSnapshot(current);
+        }
+    }
+
+    /**
+     * Returns the snapshot to serve, recomputing inline only when there is none yet
+     * or when it is dirty and past the staleness bound (e.g. the scheduler is lagging).
+     */
+    private RankingSnapshot currentSnapshot() {
+        RankingSnapshot current = snapshot.get();
+        if (current == null || (dirty.get() && isExpired(current))) {
+            current = recomputeSnapshot(current);
+        }
+        return current;
+    }
+
+    private boolean isExpired(RankingSnapshot current) {
+        return System.currentTimeMillis() - current.getComputedAt() > maxStalenessMs;
+    }
+
+    /**
+     * Recomputes the default-strategy ranking of all approved hostels and swaps in the new snapshot.
+     * Serialised, and re-checked under the lock: a caller that waited while another thread
+     * swapped in a newer snapshot than the one it saw takes that snapshot instead of
+     * recomputing the same ranking again.
+     *
+     * @param seen The snapshot the caller found stale (null if there was none)
+     */
+    private synchronized RankingSnapshot recomputeSnapshot(RankingSnapshot seen) {
+        RankingSnapshot latest = snapshot.get();
+        if (latest != null && latest != seen) {
+            return latest;
+        }
+
+        // Clear the flag first so changes made during the recompute trigger another one
+        dirty.set(false);
+
+        // Approved hostels with their rating totals in a single round trip
+        List<HostelRankingRow> rows = ratingRepository.findRankingRows(HostelStatus.APPROVED);
+
+        // Global prior is read once per ranking pass from the running totals
+        double globalAverage = statisticsService.getGlobalAverage();
+        RankingStrategy strategy = strategies.getDefault();
+
+        int n = rows.size();
+        long[] rowIds = new long[n];
+        double[] rawScores = new double[n];
+        for (int i = 0; i < n; i++) {
+            HostelRankingRow row = rows.get(i);
+            rowIds[i] = row.getHostelId();
+            rawScores[i] = strategy.score(globalAverage, row.getOverallAverage(), row.getRatingCount(),
+                    row.getOverallMeanOfSquares());
+        }
+
+        // Order by score (descending), ties broken by hostel ID
+        int[] order = RankingOrder.top(rawScores, rowIds, null, n);
+
+        long[] hostelIds = new long[n];
+        String[] hostelNames = new String[n];
+        double[] scores = new double[n];
+        double[] simpleAverages = new double[n];
+        long[] ratingCounts = new long[n];
+        double[] meanSquares = new double[n];
+        long[][] criterionSums = new long[RatingCriterion.values().length][n];
+        double[] decayedWeights = new double[n];
+        double[] decayedScoreSums = new double[n];
+        long[] decayAnchors = new long[n];
+
+        for (int rank = 0; rank < n; rank++) {
+            HostelRankingRow row = rows.get(order[rank]);
+            hostelIds[rank] = row.getHostelId();
+            hostelNames[rank] = row.getHostelName();
+            scores[rank] = rawScores[order[rank]];
+            simpleAverages[rank] = row.getOverallAverage();
+            ratingCounts[rank] = row.getRatingCount();
+            meanSquares[rank] = row.getOverallMeanOfSquares();
+            criterionSums[RatingCriterion.CLEANLINESS.ordinal()][rank] = row.getCleanlinessSum();
+            criterionSums[RatingCriterion.FOOD_QUALITY.ordinal()][rank] = row.getFoodQualitySum();
+            criterionSums[RatingCriterion.SAFETY.ordinal()][rank] = row.getSafetySum();
+            criterionSums[RatingCriterion.LOCATION.ordinal()][rank] = row.getLocationSum();
+            criterionSums[RatingCriterion.AFFORDABILITY.ordinal()][rank] = row.getAffordabilitySum();
+            decayedWeights[rank] = row.getDecayedWeight();
+            decayedScoreSums[rank] = row.getDecayedScoreSum();
+            decayAnchors[rank] = row.getDecayAnchorMs();
+        }
+
+        Map<Long, int[]> categoryPositions = buildCategoryIndex(hostelIds);
+
+        RankingSnapshot recomputed = new RankingSnapshot(hostelIds, hostelNames, scores,
+                simpleAverages, ratingCounts, meanSquares, criterionSums,
+                decayedWeights, decayedScoreSums, decayAnchors,
+                categoryPositions, System.currentTimeMillis());
+        snapshot.set(recomputed);
+
+        logger.info("Ranking snapshot recomputed: {} hostels ranked by {}", n, strategy.getName());
+
+        return recomputed;
+    }
+
+    /**
+     * Builds the category -> ranked positions index from all hostel-category mappings.
+     * Positions are sorted ascending, which is rank order, so a category's ranking
+     * is read off directly. Mappings of hostels outside the ranking are skipped.
+     */
+    private Map<Long, int[]> buildCategoryIndex(long[] rankedHostelIds) {
+        Map<Long, Integer> positionById = new HashMap<>(rankedHostelIds.length * 2);
+        for (int i = 0; i < rankedHostelIds.length; i++) {
+            positionById.put(rankedHostelIds[i], i);
+        }
+
+        Map<Long, List<Integer>> grouped = new HashMap<>();
+        for (HostelCategoriesMapping mapping : categoryMappingRepository.findAll()) {
+            Integer position = positionById.get(mapping.getHostelId());
+            if (position != null) {
+                grouped.computeIfAbsent(mapping.getCategoryId(), id -> new ArrayList<>()).add(position);
+            }
+        }
+
+        Map<Long, int[]> index = new HashMap<>(grouped.size() * 2);
+        for (Map.Entry<Long, List<Integer>> entry : grouped.entrySet()) {
+            int[] positions = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            Arrays.sort(positions);
+            index.put(entry.getKey(), positions);
+        }
+        return index;
+    }
+
+    /**
+     * Keyset position in a ranking: the score and hostel ID of the last entry returned.
+     */
+    private static final class RankingCursor {
+        private final double score;
+        private final long hostelId;
+
+        RankingCursor(double score, long hostelId) {
+            this.score = score;
+            this.hostelId = hostelId;
+        }
+
+        /**
+         * Whether an entry with the given score and ID ranks after this cursor.
+         */
+        boolean precedes(double entryScore, long entryHostelId) {
+            if (entryScore != score) {
+                return entryScore < score;
+            }
+            return entryHostelId > hostelId;
+        }
     }
 }
@@ -0,0 +1,170 @@
+package com.cdac.hostel.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.cdac.hostel.dto.RankedHostelDTO;
+import com.cdac.hostel.model.RatingCriterion;
+
+/**
+ * Immutable, pre-sorted ranking of approved hostels.
+ * Stored as parallel primitive arrays ordered by the default strategy's score (descending, ties by hostel ID),
+ * so reads only copy entries out and never touch the database.
+ * Per-criterion rating sums are kept alongside so personalised rankings can be
+ * scored from the same arrays without reading the ratings table, the mean of squared
+ * ratings for variance-aware strategies, and the
+ * time-decayed totals for the decayed ranking mode. A category -> hostel index over
+ * the same positions serves per-category rankings without filtering the full list.
+ * A new snapshot is built and swapped in whole whenever the ranking is recomputed.
+ */
+final class RankingSnapshot {
+
+    private static final int CRITERIA = RatingCriterion.values().length;
+
+    private final long[] hostelIds;
+    private final String[] hostelNames;
+    private final double[] scores;
+    private final double[] simpleAverages;
+    private final long[] ratingCounts;
+    private final double[] meanSquares;
+    // criterionSums[criterion.ordinal()][position]
+    private final long[][] criterionSums;
+    // Decayed totals as of each hostel's own anchor time
+    private final double[] decayedWeights;
+    private final double[] decayedScoreSums;
+    private final long[] decayAnchors;
+    // Category ID -> positions of its hostels, ascending (i.e. already in rank order)
+    private final Map<Long, int[]> categoryPositions;
+    // Hostel ID -> position, for single-hostel lookups
+    private final Map<Long, Integer> positions;
+    private final long computedAt;
+
+    RankingSnapshot(long[] hostelIds, String[] hostelNames, double[] scores,
+                    double[] simpleAverages, long[] ratingCounts, double[] meanSquares,
+                    long[][] criterionSums,
+                    double[] decayedWeights, double[] decayedScoreSums, long[] decayAnchors,
+                    Map<Long, int[]> categoryPositions, long computedAt) {
+        if (criterionSums.length != CRITERIA) {
+            throw new IllegalArgumentException("Expected sums for " + CRITERIA + " criteria");
+        }
+        this.hostelIds = hostelIds;
+        this.hostelNames = hostelNames;
+        this.scores = scores;
+        this.simpleAverages = simpleAverages;
+        this.ratingCounts = ratingCounts;
+        this.meanSquares = meanSquares;
+        this.criterionSums = criterionSums;
+        this.decayedWeights = decayedWeights;
+        this.decayedScoreSums = decayedScoreSums;
+        this.decayAnchors = decayAnchors;
+        this.categoryPositions = categoryPositions;
+        this.computedAt = computedAt;
+
+        this.positions = new HashMap<>(hostelIds.length * 2);
+        for (int i = 0; i < hostelIds.length; i++) {
+            positions.put(hostelIds[i], i);
+        }
+    }
+
+    int size() {
+        return hostelIds.length;
+    }
+
+    long getComputedAt() {
+        return computedAt;
+    }
+
+    long[] getHostelIds() {
+        return hostelIds;
+    }
+
+    double getScore(int position) {
+        return scores[position];
+    }
+
+    double getSimpleAverage(int position) {
+        return simpleAverages[position];
+    }
+
+    long getRatingCount(int position) {
+        return ratingCounts[position];
+    }
+
+    double getMeanOfSquares(int position) {
+        return meanSquares[position];
+    }
+
+    long getCriterionSum(RatingCriterion criterion, int position) {
+        return criterionSums[criterion.ordinal()][position];
+    }
+
+    double getDecayedWeight(int position) {
+        return decayedWeights[position];
+    }
+
+    double getDecayedScoreSum(int position) {
+        return decayedScoreSums[position];
+    }
+
+    long getDecayAnchor(int position) {
+        return decayAnchors[position];
+    }
+
+    /**
+     * Position of a hostel in the ranking, or -1 if it is not ranked (e.g. not approved).
+     */
+    int positionOf(long hostelId) {
+        Integer position = positions.get(hostelId);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Positions of the hostels in a category, in rank order.
+     * Returns an empty array for unknown categories or categories without approved hostels.
+     */
+    int[] getCategoryPositions(Long categoryId) {
+        int[] positions = categoryPositions.get(categoryId);
+        return positions != null ? positions : new int[0];
+    }
+
+    /**
+     * Copies up to limit of the given positions, starting at index from, into DTOs in the order given.
+     */
+    List<RankedHostelDTO> toDtos(int[] positions, int from, int limit) {
+        int end = (int) Math.min((long) from + limit, positions.length);
+        List<RankedHostelDTO> result = new ArrayList<>(Math.max(0, end - from));
+        for (int i = from; i < end; i++) {
+            int position = positions[i];
+            result.add(toDto(position, scores[position], simpleAverages[position]));
+        }
+        return result;
+    }
+
+    /**
+     * Copies the ranked entries in positions [from, to) into DTOs.
+     */
+    List<RankedHostelDTO> toDtos(int from, int to) {
+        int end = Math.max(from, Math.min(to, hostelIds.length));
+        List<RankedHostelDTO> result = new ArrayList<>(Math.max(0, end - from));
+        for (int i = from; i < end; i++) {
+            result.add(toDto(i, scores[i], simpleAverages[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Builds a DTO for one position with a score computed outside the snapshot
+     * (e.g. a personalised ranking).
+     */
+    RankedHostelDTO toDto(int position, double score, double simpleAverage) {
+        RankedHostelDTO dto = new RankedHostelDTO();
+        dto.setHostelId(hostelIds[position]);
+        dto.setHostelName(hostelNames[position]);
+        dto.setBayesianAverage(score);
+        dto.setSimpleAverage(simpleAverage);
+        dto.setRatingCount(ratingCounts[position]);
+        return dto;
+    }
+}
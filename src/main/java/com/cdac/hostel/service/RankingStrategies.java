@@ -0,0 +1,87 @@
+package com.cdac.hostel.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cdac.hostel.exception.InvalidRequestException;
+
+/**
+ * Registry of the available ranking strategies, keyed by name.
+ * Every RankingStrategy bean is picked up automatically; the default used for the
+ * precomputed ranking comes from hostel.ranking.strategy.
+ */
+@Component
+public class RankingStrategies {
+
+    private final Map<String, RankingStrategy> byName = new HashMap<>();
+
+    private final RankingStrategy defaultStrategy;
+
+    public RankingStrategies(List<RankingStrategy> strategies,
+                             @Value("${hostel.ranking.strategy:bayesian}") String defaultName) {
+        for (RankingStrategy strategy : strategies) {
+            byName.put(strategy.getName(), strategy);
+        }
+        this.defaultStrategy = byName.get(defaultName);
+        if (defaultStrategy == null) {
+            throw new IllegalArgumentException("Unknown hostel.ranking.strategy: " + defaultName
+                    + " (available: " + byName.keySet() + ")");
+        }
+        if (defaultStrategy.requiresSecondMoment() && !byName.containsKey(BayesianRankingStrategy.NAME)) {
+            throw new IllegalArgumentException("hostel.ranking.strategy " + defaultName
+                    + " needs the bayesian strategy as a fallback for weighted and decayed rankings");
+        }
+    }
+
+    /**
+     * Strategy used for the precomputed default ranking.
+     */
+    public RankingStrategy getDefault() {
+        return defaultStrategy;
+    }
+
+    /**
+     * Looks up a strategy by name; null or empty selects the default.
+     *
+     * @param name The strategy name from the request
+     * @return The matching strategy
+     * @throws InvalidRequestException if no strategy has that name
+     */
+    public RankingStrategy resolve(String name) {
+        if (name == null || name.isEmpty()) {
+            return defaultStrategy;
+        }
+        RankingStrategy strategy = byName.get(name.toLowerCase());
+        if (strategy == null) {
+            throw new InvalidRequestException("Unknown ranking strategy: " + name
+                    + " (available: " + byName.keySet() + ")");
+        }
+        return strategy;
+    }
+
+    /**
+     * Looks up a strategy for a ranking computed from averages alone (criterion weights or decay),
+     * which have no second moment. The configured default falls back to the Bayesian average when
+     * it needs one, so those rankings work whatever hostel.ranking.strategy is; a strategy
+     * requested by name that needs one is rejected.
+     *
+     * @param name The strategy name from the request
+     * @return A strategy that scores from averages alone
+     * @throws InvalidRequestException if no strategy has that name, or the named one needs a second moment
+     */
+    public RankingStrategy resolveWithoutSecondMoment(String name) {
+        RankingStrategy strategy = resolve(name);
+        if (!strategy.requiresSecondMoment()) {
+            return strategy;
+        }
+        if (name == null || name.isEmpty()) {
+            return byName.get(BayesianRankingStrategy.NAME);
+        }
+        throw new InvalidRequestException("Ranking strategy " + strategy.getName()
+                + " cannot be combined with criterion weights or decayed ranking");
+    }
+}
@@ -0,0 +1,35 @@
+package com.cdac.hostel.service;
+
+/**
+ * Scoring rule used to rank hostels from their pre-aggregated rating totals.
+ * Implementations only ever see counts and moments taken from the rating aggregates,
+ * never individual ratings, so a ranking pass costs O(hostels) whatever the rating volume.
+ * Strategies are Spring beans looked up by name through RankingStrategies.
+ */
+public interface RankingStrategy {
+
+    /**
+     * Name used to select this strategy (the strategy query parameter and hostel.ranking.strategy).
+     */
+    String getName();
+
+    /**
+     * Whether the strategy needs the mean of squared scores.
+     * That moment is only tracked for the overall score, so such strategies cannot be
+     * combined with criterion weights or the decayed mode.
+     */
+    default boolean requiresSecondMoment() {
+        return false;
+    }
+
+    /**
+     * Scores one hostel on the 1-5 rating scale; higher ranks first.
+     *
+     * @param priorMean Global average rating across all hostels
+     * @param mean The hostel's average rating (0 when unrated)
+     * @param count Number of ratings; fractional in the decayed mode
+     * @param meanOfSquares Mean of the squared ratings, or NaN when not tracked
+     * @return The hostel's ranking score
+     */
+    double score(double priorMean, double mean, double count, double meanOfSquares);
+}
@@ -0,0 +1,374 @@
+package com.cdac.hostel.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cdac.hostel.dto.AggregateVerificationReport;
+import com.cdac.hostel.dto.RatingDistributionDTO;
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.model.HostelRatingAggregate;
+import com.cdac.hostel.model.HostelRatingHistogram;
+import com.cdac.hostel.model.RatingCriterion;
+import com.cdac.hostel.repository.HostelRatingAggregateRepository;
+import com.cdac.hostel.repository.HostelRatingHistogramRepository;
+import com.cdac.hostel.util.TransactionCallbacks;
+
+/**
+ * Service layer for per-hostel rating aggregates.
+ * Keeps hostel_rating_aggregates and the star histograms in hostel_rating_histograms
+ * in step with hostel_ratings on every rating write,
+ * and provides a verify/rebuild job that recomputes aggregates from the raw ratings
+ * and reports (and optionally repairs) any drift.
+ */
+@Service
+public class RatingAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateService.class);
+
+    @Autowired
+    private HostelRatingAggregateRepository aggregateRepository;
+
+    @Autowired
+    private HostelRatingHistogramRepository histogramRepository;
+
+    @Autowired
+    private RatingStatisticsService statisticsService;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private RatingDecay ratingDecay;
+
+    @Value("${hostel.ratings.aggregates.repair-on-startup:true}")
+    private boolean repairOnStartup;
+
+    /**
+     * Adds a newly created rating to its hostel's aggregate and star histogram.
+     * Must be called inside the transaction that inserts the rating; the in-memory
+     * global totals and ranking are only updated once that transaction commits.
+     *
+     * @param rating The rating that was just saved
+     */
+    public void recordRating(HostelRating rating) {
+        long cleanliness = rating.getCleanlinessRating();
+        long foodQuality = rating.getFoodQualityRating();
+        long safety = rating.getSafetyRating();
+        long location = rating.getLocationRating();
+        long affordability = rating.getAffordabilityRating();
+
+        long criteriaTotal = cleanliness + foodQuality + safety + location + affordability;
+
+        // A new rating carries full weight at the time it is written
+        double overall = criteriaTotal / 5.0;
+
+        aggregateRepository.applyDelta(rating.getHostelId(), 1,
+                cleanliness, foodQuality, safety, location, affordability,
+                criteriaTotal * criteriaTotal, 1.0, overall, System.currentTimeMillis(), ratingDecay.getRatePerMs());
+
+        // No previous star levels for a new rating
+        histogramRepository.applyDelta(rating.getHostelId(),
+                rating.getCleanlinessRating(), rating.getFoodQualityRating(), rating.getSafetyRating(),
+                rating.getLocationRating(), rating.getAffordabilityRating(), 0, 0, 0, 0, 0);
+
+        statisticsService.applyDeltaOnCommit(1, cleanliness, foodQuality, safety, location, affordability);
+        TransactionCallbacks.afterCommit(rankingService::markDirty);
+
+        logger.debug("Aggregate updated for new rating: hostelId={}, ratingId={}",
+                     rating.getHostelId(), rating.getRatingId());
+    }
+
+    /**
+     * Adds a batch of newly created ratings to their hostels' aggregates and histograms.
+     * Deltas are summed per hostel, so each hostel's aggregate gets one upsert per batch;
+     * each rating's decayed weight reflects its own creation time.
+     * Must be called inside the transaction that inserts the ratings.
+     *
+     * @param ratings The ratings that were just inserted
+     */
+    public void recordRatings(List<HostelRating> ratings) {
+        long now = System.currentTimeMillis();
+        Map<Long, long[]> sums = new HashMap<>();
+        Map<Long, double[]> decayed = new HashMap<>();
+        long[] global = new long[6];
+
+        for (HostelRating rating : ratings) {
+            long[] s = sums.computeIfAbsent(rating.getHostelId(), id -> new long[7]);
+            long[] scores = {
+                rating.getCleanlinessRating(), rating.getFoodQualityRating(), rating.getSafetyRating(),
+                rating.getLocationRating(), rating.getAffordabilityRating()
+            };
+            long criteriaTotal = 0;
+            s[0]++;
+            global[0]++;
+            for (int c = 0; c < scores.length; c++) {
+                s[c + 1] += scores[c];
+                global[c + 1] += scores[c];
+                criteriaTotal += scores[c];
+            }
+            s[6] += criteriaTotal * criteriaTotal;
+
+            double weight = ratingDecay.factor(now - rating.getCreatedAt().getTime());
+            double[] d = decayed.computeIfAbsent(rating.getHostelId(), id -> new double[2]);
+            d[0] += weight;
+            d[1] += weight * criteriaTotal / 5.0;
+
+            histogramRepository.applyDelta(rating.getHostelId(),
+                    rating.getCleanlinessRating(), rating.getFoodQualityRating(), rating.getSafetyRating(),
+                    rating.getLocationRating(), rating.getAffordabilityRating(), 0, 0, 0, 0, 0);
+        }
+
+        for (Map.Entry<Long, long[]> entry : sums.entrySet()) {
+            long[] s = entry.getValue();
+            double[] d = decayed.get(entry.getKey());
+            aggregateRepository.applyDelta(entry.getKey(), s[0], s[1], s[2], s[3], s[4], s[5], s[6],
+                    d[0], d[1], now, ratingDecay.getRatePerMs());
+        }
+
+        statisticsService.applyDeltaOnCommit(global[0], global[1], global[2], global[3], global[4], global[5]);
+        TransactionCallbacks.afterCommit(rankingService::markDirty);
+
+        logger.debug("Aggregates updated for rating batch: ratings={}, hostels={}", ratings.size(), sums.size());
+    }
+
+    /**
+     * Applies an edited rating to its hostel's aggregate and star histogram as a delta
+     * (new minus old per criterion), without touching the rest of the hostel's ratings.
+     * The rating keeps its original age for decay: its current weight exp(-lambda * age)
+     * is applied to the change in its overall score.
+     * Must be called inside the transaction that updates the rating.
+     *
+     * @param rating The rating with its new scores
+     * @param oldScores The previous scores, indexed by RatingCriterion ordinal
+     */
+    public void recordRatingChange(HostelRating rating, int[] oldScores) {
+        long cleanliness = rating.getCleanlinessRating() - oldScores[RatingCriterion.CLEANLINESS.ordinal()];
+        long foodQuality = rating.getFoodQualityRating() - oldScores[RatingCriterion.FOOD_QUALITY.ordinal()];
+        long safety = rating.getSafetyRating() - oldScores[RatingCriterion.SAFETY.ordinal()];
+        long location = rating.getLocationRating() - oldScores[RatingCriterion.LOCATION.ordinal()];
+        long affordability = rating.getAffordabilityRating() - oldScores[RatingCriterion.AFFORDABILITY.ordinal()];
+
+        long oldTotal = 0;
+        for (int score : oldScores) {
+            oldTotal += score;
+        }
+        long newTotal = oldTotal + cleanliness + foodQuality + safety + location + affordability;
+
+        long now = System.currentTimeMillis();
+        double weight = ratingDecay.factor(now - rating.getCreatedAt().getTime());
+
+        aggregateRepository.applyDelta(rating.getHostelId(), 0,
+                cleanliness, foodQuality, safety, location, affordability,
+                newTotal * newTotal - oldTotal * oldTotal,
+                0.0, weight * (newTotal - oldTotal) / 5.0, now, ratingDecay.getRatePerMs());
+
+        histogramRepository.applyDelta(rating.getHostelId(),
+                rating.getCleanlinessRating(), rating.getFoodQualityRating(), rating.getSafetyRating(),
+                rating.getLocationRating(), rating.getAffordabilityRating(),
+                oldScores[RatingCriterion.CLEANLINESS.ordinal()], oldScores[RatingCriterion.FOOD_QUALITY.ordinal()],
+                oldScores[RatingCriterion.SAFETY.ordinal()], oldScores[RatingCriterion.LOCATION.ordinal()],
+                oldScores[RatingCriterion.AFFORDABILITY.ordinal()]);
+
+        statisticsService.applyDeltaOnCommit(0, cleanliness, foodQuality, safety, location, affordability);
+        TransactionCallbacks.afterCommit(rankingService::markDirty);
+
+        logger.debug("Aggregate updated for edited rating: hostelId={}, ratingId={}",
+                     rating.getHostelId(), rating.getRatingId());
+    }
+
+    /**
+     * Recomputes the aggregates and histograms of hostels that just received many ratings at once.
+     * Must be called inside the transaction that inserted them, after the inserts are flushed;
+     * one GROUP BY per hostel replaces an upsert per rating.
+     *
+     * @param hostelIds The hostels whose ratings changed
+     */
+    public void refreshHostels(Collection<Long> hostelIds) {
+        for (Long hostelId : hostelIds) {
+            recompute(hostelId);
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            statisticsService.reconcile();
+            rankingService.markDirty();
+        });
+
+        logger.debug("Aggregates refreshed after bulk insert: hostels={}", hostelIds.size());
+    }
+
+    /**
+     * Retrieves the aggregate of a hostel, or an empty aggregate if it has no ratings.
+     *
+     * @param hostelId The ID of the hostel
+     * @return The hostel's rating aggregate (never null)
+     */
+    public HostelRatingAggregate getAggregate(Long hostelId) {
+        return aggregateRepository.findById(hostelId).orElseGet(() -> {
+            HostelRatingAggregate empty = new HostelRatingAggregate();
+            empty.setHostelId(hostelId);
+            return empty;
+        });
+    }
+
+    /**
+     * Retrieves the star distribution of a hostel's ratings from its histogram row.
+     * Hostels without ratings get all-zero counts.
+     *
+     * @param hostelId The ID of the hostel
+     * @return Per-criterion counts of 1-5 star votes
+     */
+    public RatingDistributionDTO getDistribution(Long hostelId) {
+        HostelRatingHistogram histogram = histogramRepository.findById(hostelId)
+                .orElseGet(HostelRatingHistogram::new);
+
+        RatingDistributionDTO dto = new RatingDistributionDTO();
+        dto.setHostelId(hostelId);
+        dto.setCleanliness(histogram.getCounts(RatingCriterion.CLEANLINESS));
+        dto.setFoodQuality(histogram.getCounts(RatingCriterion.FOOD_QUALITY));
+        dto.setSafety(histogram.getCounts(RatingCriterion.SAFETY));
+        dto.setLocation(histogram.getCounts(RatingCriterion.LOCATION));
+        dto.setAffordability(histogram.getCounts(RatingCriterion.AFFORDABILITY));
+
+        // Every rating votes once per criterion
+        long ratingCount = 0;
+        for (long count : dto.getCleanliness()) {
+            ratingCount += count;
+        }
+        dto.setRatingCount(ratingCount);
+
+        return dto;
+    }
+
+    /**
+     * Recomputes every hostel's aggregate from hostel_ratings and compares it with the stored row.
+     * Star histograms are checked for consistency against the recomputed aggregate.
+     * When repair is requested, drifted rows are recomputed in place and orphaned rows removed.
+     *
+     * @param repair Whether to fix drifted aggregates
+     * @return Report listing the drifted hostels
+     */
+    @Transactional
+    public AggregateVerificationReport verifyAggregates(boolean repair) {
+        logger.info("Verifying rating aggregates: repair={}", repair);
+
+        Map<Long, HostelRatingAggregate> expected = aggregateRepository.computeFromRatings().stream()
+                .collect(Collectors.toMap(HostelRatingAggregate::getHostelId, Function.identity()));
+        Map<Long, HostelRatingAggregate> stored = aggregateRepository.findAll().stream()
+                .collect(Collectors.toMap(HostelRatingAggregate::getHostelId, Function.identity()));
+        Map<Long, HostelRatingHistogram> histograms = histogramRepository.findAll().stream()
+                .collect(Collectors.toMap(HostelRatingHistogram::getHostelId, Function.identity()));
+
+        List<Long> drifted = new ArrayList<>();
+
+        // Hostels with ratings whose stored aggregate is missing or different,
+        // whose decayed totals were never populated, or whose histogram disagrees
+        for (HostelRatingAggregate exp : expected.values()) {
+            HostelRatingAggregate actual = stored.get(exp.getHostelId());
+            HostelRatingHistogram histogram = histograms.get(exp.getHostelId());
+            if (actual == null || !actual.sameTotalsAs(exp) || actual.getDecayedWeight() <= 0.0
+                    || histogram == null || !histogram.isConsistentWith(exp)) {
+                drifted.add(exp.getHostelId());
+                if (repair) {
+                    recompute(exp.getHostelId());
+                }
+            }
+        }
+
+        // Stored aggregates for hostels that no longer have any ratings
+        for (HostelRatingAggregate actual : stored.values()) {
+            if (!expected.containsKey(actual.getHostelId()) && actual.getRatingCount() != 0) {
+                drifted.add(actual.getHostelId());
+                if (repair) {
+                    aggregateRepository.deleteById(actual.getHostelId());
+                }
+            }
+        }
+        for (HostelRatingHistogram histogram : histograms.values()) {
+            if (!expected.containsKey(histogram.getHostelId()) && repair) {
+                histogramRepository.deleteById(histogram.getHostelId());
+            }
+        }
+
+        if (repair && !drifted.isEmpty()) {
+            // Derived in-memory state was built from the drifted rows
+            TransactionCallbacks.afterCommit(() -> {
+                statisticsService.reconcile();
+                rankingService.markDirty();
+            });
+        }
+
+        if (drifted.isEmpty()) {
+            logger.info("Rating aggregates verified: hostelsChecked={}, no drift", expected.size());
+        } else {
+            logger.warn("Rating aggregate drift detected: hostelsChecked={}, drifted={}, repaired={}",
+                        expected.size(), drifted, repair);
+        }
+
+        return new AggregateVerificationReport(expected.size(), drifted, repair && !drifted.isEmpty());
+    }
+
+    /**
+     * Recomputes the aggregate of every rated hostel from hostel_ratings, drifted or not.
+     * Needed after changing the decay half-life, since decayed totals are not comparable
+     * across decay rates and therefore not covered by drift detection.
+     *
+     * @return Number of hostels whose aggregates were rebuilt
+     */
+    @Transactional
+    public int rebuildAll() {
+        logger.info("Rebuilding all rating aggregates");
+
+        List<HostelRatingAggregate> expected = aggregateRepository.computeFromRatings();
+        for (HostelRatingAggregate exp : expected) {
+            recompute(exp.getHostelId());
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            statisticsService.reconcile();
+            rankingService.markDirty();
+        });
+
+        logger.info("Rating aggregates rebuilt: hostels={}", expected.size());
+        return expected.size();
+    }
+
+    /**
+     * Recomputes one hostel's aggregate and star histogram from hostel_ratings.
+     */
+    private void recompute(Long hostelId) {
+        aggregateRepository.recompute(hostelId, ratingDecay.getRatePerMs());
+        histogramRepository.recompute(hostelId);
+    }
+
+    /**
+     * Brings aggregates in line with hostel_ratings at startup.
+     * Covers ratings loaded directly through SQL (e.g. data.sql) that never went through rateHostel.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        verifyAggregates(repairOnStartup);
+    }
+
+    /**
+     * Periodic drift check. Only reports; repair is triggered explicitly via the internal endpoint.
+     */
+    @Scheduled(cron = "${hostel.ratings.aggregates.verify-cron:0 0 3 * * *}")
+    public void scheduledVerify() {
+        verifyAggregates(false);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cdac.hostel.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exponential time-decay model for ratings.
+ * A rating's weight halves every configured half-life, so recent reviews dominate
+ * the decayed ranking while old ones fade out instead of counting forever.
+ */
+@Component
+public class RatingDecay {
+
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000.0;
+
+    private final double ratePerMs;
+
+    public RatingDecay(@Value("${hostel.ranking.decay.half-life-days:180}") double halfLifeDays) {
+        if (halfLifeDays <= 0) {
+            throw new IllegalArgumentException("hostel.ranking.decay.half-life-days must be positive");
+        }
+        this.ratePerMs = Math.log(2) / (halfLifeDays * MILLIS_PER_DAY);
+    }
+
+    /**
+     * Decay rate lambda per millisecond: weight = exp(-lambda * age).
+     */
+    public double getRatePerMs() {
+        return ratePerMs;
+    }
+
+    /**
+     * Weight of something that is ageMs milliseconds old (1.0 when brand new).
+     */
+    public double factor(long ageMs) {
+        return Math.exp(-ratePerMs * Math.max(0L, ageMs));
+    }
+}
@@ -0,0 +1,326 @@
+package com.cdac.hostel.service;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cdac.hostel.client.AuthServiceClient;
+import com.cdac.hostel.dto.BulkRatingRequest;
+import com.cdac.hostel.dto.BulkRatingResult;
+import com.cdac.hostel.dto.BulkRatingResult.Status;
+import com.cdac.hostel.dto.RatingKey;
+import com.cdac.hostel.exception.InvalidRequestException;
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.repository.HostelRatingRepository;
+import com.cdac.hostel.util.TransactionCallbacks;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Service layer for bulk rating import (e.g. migrating reviews from another system).
+ * The request body is parsed incrementally and imported one chunk at a time, and results are
+ * written out as each chunk finishes, so memory use is bounded by the chunk size rather than
+ * the import size. Each distinct user is checked once per import, duplicates are detected
+ * set-wise per chunk (ratings still queued for write-behind count as existing), and each
+ * chunk is inserted in its own transaction with JDBC batching; aggregates of the affected
+ * hostels are recomputed once per chunk rather than updated per rating.
+ * If a chunk hits a unique-key violation (a rating inserted concurrently), its records are
+ * retried one per transaction, so only the conflicting record is reported as DUPLICATE.
+ * Every record gets a result, so a partially failing import can be retried selectively.
+ */
+@Service
+public class RatingIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingIngestionService.class);
+
+    @Autowired
+    private HostelRatingRepository ratingRepository;
+
+    @Autowired
+    private RatingAggregateService aggregateService;
+
+    @Autowired
+    private AuthServiceClient authClient;
+
+    @Autowired
+    private ReviewSearchIndex searchIndex;
+
+    @Autowired
+    private RatingWriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Records parsed, inserted per transaction, and answered per flush
+    @Value("${hostel.ratings.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Imports a JSON array of ratings, writing a JSON array with one result per record, in request order.
+     * A body that is malformed within the first chunk is rejected before anything is imported.
+     * If it turns malformed later, the records parsed before the error are imported and the
+     * results end there; chunks already written stay committed.
+     *
+     * @param body JSON array of BulkRatingRequest records
+     * @param out Receives the BulkRatingResult array
+     * @throws InvalidRequestException if the body is malformed within the first chunk
+     */
+    public void ingest(InputStream body, OutputStream out) {
+        Map<Long, Boolean> knownUsers = new HashMap<>();
+        JsonGenerator generator = null;
+        int records = 0;
+        long created = 0;
+
+        try (MappingIterator<BulkRatingRequest> parser =
+                     objectMapper.readerFor(BulkRatingRequest.class).readValues(body)) {
+            boolean more = true;
+            while (more) {
+                List<BulkRatingRequest> chunk = new ArrayList<>(chunkSize);
+                try {
+                    while (chunk.size() < chunkSize && (more = parser.hasNextValue())) {
+                        chunk.add(parser.nextValue());
+                    }
+                } catch (JacksonException e) {
+                    if (generator == null) {
+                        throw new InvalidRequestException("Malformed bulk rating body: " + e.getOriginalMessage());
+                    }
+                    logger.error("Bulk rating body malformed after record {}: {}",
+                                 records + chunk.size(), e.getOriginalMessage());
+                    more = false;
+                }
+
+                BulkRatingResult[] results = chunk.isEmpty()
+                        ? new BulkRatingResult[0] : importChunk(chunk, records, knownUsers);
+
+                if (generator == null) {
+                    generator = objectMapper.createGenerator(out);
+                    generator.writeStartArray();
+                }
+                for (BulkRatingResult result : results) {
+                    generator.writePOJO(result);
+                    if (result.getStatus() == Status.CREATED) {
+                        created++;
+                    }
+                }
+                generator.flush();
+                records += chunk.size();
+            }
+
+            generator.writeEndArray();
+            generator.close();
+        }
+        logger.info("Bulk rating import finished: records={}, created={}", records, created);
+    }
+
+    /**
+     * Validates, checks and inserts one chunk of records.
+     *
+     * @param base Index of the chunk's first record in the request
+     * @param knownUsers Users already checked in this import, and whether they exist
+     * @return One result per record of the chunk
+     */
+    private BulkRatingResult[] importChunk(List<BulkRatingRequest> records, int base, Map<Long, Boolean> knownUsers) {
+        BulkRatingResult[] results = new BulkRatingResult[records.size()];
+
+        // 1. Field validation
+        List<Integer> valid = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            String problem = validate(records.get(i));
+            if (problem != null) {
+                results[i] = result(base + i, records.get(i), Status.INVALID, null, problem);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        // 2. Users, checked once per distinct user rather than once per record
+        Set<Long> uncheckedUsers = new HashSet<>();
+        for (int i : valid) {
+            if (!knownUsers.containsKey(records.get(i).getUserId())) {
+                uncheckedUsers.add(records.get(i).getUserId());
+            }
+        }
+        if (!uncheckedUsers.isEmpty()) {
+            Set<Long> existingUsers = authClient.findExistingUsers(uncheckedUsers);
+            for (Long userId : uncheckedUsers) {
+                knownUsers.put(userId, existingUsers.contains(userId));
+            }
+        }
+
+        // 3. Duplicates within the chunk: the first record of a pair wins.
+        //    A duplicate of an earlier chunk is caught against the database, as that chunk has committed.
+        Set<RatingKey> seen = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        for (int i : valid) {
+            BulkRatingRequest record = records.get(i);
+            if (!knownUsers.get(record.getUserId())) {
+                results[i] = result(base + i, record, Status.USER_NOT_FOUND, null, "User not found");
+            } else if (!seen.add(key(record))) {
+                results[i] = result(base + i, record, Status.DUPLICATE, null, "Duplicate record in request");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // 4. Claimed keys count as queued, so the ratings cannot also be submitted while the chunk is inserted
+        Set<RatingKey> claimed = writeBehindQueue.claim(accepted.stream().map(i -> key(records.get(i))).toList());
+        List<Integer> chunk = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            if (claimed.contains(key(records.get(i)))) {
+                chunk.add(i);
+            } else {
+                results[i] = result(base + i, records.get(i), Status.DUPLICATE, null, "User already rated this hostel");
+            }
+        }
+
+        if (chunk.isEmpty()) {
+            return results;
+        }
+
+        // 5. One transaction for the chunk, duplicates against the database checked set-wise
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(records, base, chunk, results));
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Bulk rating chunk hit a constraint violation, retrying per record: records={}", chunk.size());
+            for (int i : chunk) {
+                insertOne(records, base, i, results);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Bulk rating chunk failed: records={}, error={}", chunk.size(), e.getMessage());
+            for (int i : chunk) {
+                results[i] = result(base + i, records.get(i), Status.FAILED, null, "Insert failed");
+            }
+        } finally {
+            writeBehindQueue.unclaim(claimed);
+        }
+        return results;
+    }
+
+    /**
+     * Inserts a single record in its own transaction, after its chunk was rolled back.
+     */
+    private void insertOne(List<BulkRatingRequest> records, int base, int i, BulkRatingResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(records, base, List.of(i), results));
+        } catch (DataIntegrityViolationException e) {
+            results[i] = HostelRatingService.isDuplicateRating(e)
+                    ? result(base + i, records.get(i), Status.DUPLICATE, null, "User already rated this hostel")
+                    : result(base + i, records.get(i), Status.FAILED, null, "Insert failed");
+        } catch (RuntimeException e) {
+            logger.error("Bulk rating record {} failed: {}", base + i, e.getMessage());
+            results[i] = result(base + i, records.get(i), Status.FAILED, null, "Insert failed");
+        }
+    }
+
+    /**
+     * Inserts the given records inside the caller's transaction.
+     * Results are only written once everything succeeded, so a rolled-back insert leaves them unset.
+     */
+    private void insert(List<BulkRatingRequest> records, int base, List<Integer> chunk, BulkRatingResult[] results) {
+        Set<Long> hostelIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (int i : chunk) {
+            hostelIds.add(records.get(i).getHostelId());
+            userIds.add(records.get(i).getUserId());
+        }
+        Set<RatingKey> existing = new HashSet<>(ratingRepository.findRatingKeys(hostelIds, userIds));
+
+        List<Integer> inserted = new ArrayList<>(chunk.size());
+        List<Integer> duplicates = new ArrayList<>();
+        List<HostelRating> ratings = new ArrayList<>(chunk.size());
+        Set<Long> touchedHostels = new HashSet<>();
+        for (int i : chunk) {
+            BulkRatingRequest record = records.get(i);
+            if (existing.contains(key(record))) {
+                duplicates.add(i);
+                continue;
+            }
+            inserted.add(i);
+            ratings.add(toRating(record));
+            touchedHostels.add(record.getHostelId());
+        }
+
+        // Sequence IDs let Hibernate send these as JDBC batches
+        List<HostelRating> saved = ratingRepository.saveAllAndFlush(ratings);
+        aggregateService.refreshHostels(touchedHostels);
+
+        TransactionCallbacks.afterCommit(() -> {
+            for (HostelRating rating : saved) {
+                searchIndex.index(rating.getRatingId(), rating.getHostelId(), rating.getReviewText());
+            }
+        });
+
+        for (int i : duplicates) {
+            results[i] = result(base + i, records.get(i), Status.DUPLICATE, null, "User already rated this hostel");
+        }
+        for (int n = 0; n < inserted.size(); n++) {
+            int i = inserted.get(n);
+            results[i] = result(base + i, records.get(i), Status.CREATED, saved.get(n).getRatingId(), null);
+        }
+    }
+
+    /**
+     * Returns a description of what is wrong with the record, or null if it is valid.
+     */
+    private static String validate(BulkRatingRequest record) {
+        if (record == null) {
+            return "Record is empty";
+        }
+        if (record.getHostelId() == null || record.getUserId() == null) {
+            return "hostelId and userId are required";
+        }
+        Integer[] scores = {
+            record.getCleanlinessRating(), record.getFoodQualityRating(), record.getSafetyRating(),
+            record.getLocationRating(), record.getAffordabilityRating()
+        };
+        for (Integer score : scores) {
+            if (score == null || score < 1 || score > 5) {
+                return "All 5 criteria must be rated from 1 to 5";
+            }
+        }
+        return null;
+    }
+
+    private static HostelRating toRating(BulkRatingRequest record) {
+        HostelRating rating = new HostelRating();
+        rating.setHostelId(record.getHostelId());
+        rating.setUserId(record.getUserId());
+        rating.setCleanlinessRating(record.getCleanlinessRating());
+        rating.setFoodQualityRating(record.getFoodQualityRating());
+        rating.setSafetyRating(record.getSafetyRating());
+        rating.setLocationRating(record.getLocationRating());
+        rating.setAffordabilityRating(record.getAffordabilityRating());
+        rating.setReviewText(record.getReviewText());
+        return rating;
+    }
+
+    private static RatingKey key(BulkRatingRequest record) {
+        return new RatingKey(record.getHostelId(), record.getUserId());
+    }
+
+    private static BulkRatingResult result(int index, BulkRatingRequest record, Status status,
+                                           Long ratingId, String message) {
+        return record == null
+                ? new BulkRatingResult(index, null, null, status, ratingId, message)
+                : new BulkRatingResult(index, record.getHostelId(), record.getUserId(), status, ratingId, message);
+    }
+}
@@ -0,0 +1,334 @@
+package com.cdac.hostel.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cdac.hostel.model.HostelRating;
+
+/**
+ * Append-only journal of write-behind ratings, kept as numbered segment files next to the
+ * configured path (path.1, path.2, ...).
+ *
+ * Group commit: appends only write to the current segment. A caller then waits in
+ * awaitDurable, where one thread at a time forces the segment once for every line appended
+ * before it started, and releases all callers those lines cover.
+ *
+ * Checkpointing: the current segment is sealed once it reaches the size limit, and a sealed
+ * segment is deleted as soon as every rating in it is settled (committed or dropped), so the
+ * journal holds the ratings still queued plus at most one segment of settled ones, however
+ * long the queue stays non-empty. Settled lines replayed after a crash are skipped by the
+ * writer, which checks journalled rating IDs against the database first.
+ */
+final class RatingJournal implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingJournal.class);
+
+    private final Path basePath;
+    private final long segmentBytes;
+
+    // Guards everything below; never held while forcing the current segment
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition synced = lock.newCondition();
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    // Segment of every unsettled rating, by rating ID
+    private final Map<Long, Segment> unsettled = new HashMap<>();
+    private final List<HostelRating> recovered = new ArrayList<>();
+    private Segment current;
+
+    // Lines appended, and lines known to be on disk
+    private long appended;
+    private long forced;
+    private boolean syncing;
+
+    private static final class Segment {
+        private final long number;
+        private final Path path;
+        private FileChannel channel;
+        private long bytes;
+        private int outstanding;
+        private boolean sealed;
+
+        Segment(long number, Path path) {
+            this.number = number;
+            this.path = path;
+        }
+    }
+
+    private RatingJournal(Path basePath, long segmentBytes) {
+        this.basePath = basePath;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Opens the journal, reading the entries left by the previous run, and starts a fresh segment.
+     * A single-file journal from before segments existed is read as the oldest segment.
+     *
+     * @param basePath The configured journal path; segments are created beside it
+     * @param segmentBytes Size after which the current segment is sealed
+     */
+    static RatingJournal open(Path basePath, long segmentBytes) throws IOException {
+        RatingJournal journal = new RatingJournal(basePath, segmentBytes);
+        Path directory = basePath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        if (Files.exists(basePath)) {
+            journal.segments.put(0L, new Segment(0L, basePath));
+        }
+        String prefix = basePath.getFileName() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix) && name.substring(prefix.length()).matches("\\d+")) {
+                    long number = Long.parseLong(name.substring(prefix.length()));
+                    journal.segments.put(number, new Segment(number, file));
+                }
+            });
+        }
+
+        for (Segment segment : new ArrayList<>(journal.segments.values())) {
+            segment.sealed = true;
+            for (HostelRating rating : read(segment.path)) {
+                if (journal.unsettled.containsKey(rating.getRatingId())) {
+                    continue;
+                }
+                journal.recovered.add(rating);
+                journal.unsettled.put(rating.getRatingId(), segment);
+                segment.outstanding++;
+            }
+            if (segment.outstanding == 0) {
+                journal.delete(segment);
+            }
+        }
+
+        long next = journal.segments.isEmpty() ? 1 : journal.segments.lastKey() + 1;
+        journal.current = journal.startSegment(next);
+        return journal;
+    }
+
+    /**
+     * Ratings journalled but not known to be settled by the previous run (e.g. after a crash), oldest first.
+     */
+    List<HostelRating> recovered() {
+        return recovered;
+    }
+
+    /**
+     * Appends one rating to the current segment without forcing it.
+     *
+     * @return A ticket to pass to awaitDurable before acknowledging the rating
+     */
+    long append(HostelRating rating) {
+        byte[] line = format(rating).getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            if (current.bytes > 0 && current.bytes + line.length > segmentBytes) {
+                rotate();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                current.channel.write(buffer);
+            }
+            current.bytes += line.length;
+            current.outstanding++;
+            unsettled.put(rating.getRatingId(), current);
+            return ++appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write rating journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns once the line behind the ticket is on disk. If no force is running, this thread
+     * forces the current segment for every line appended so far; otherwise it waits for the
+     * running force and, if that did not cover its line, for the next one.
+     */
+    void awaitDurable(long ticket) {
+        lock.lock();
+        try {
+            while (forced < ticket) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncing = true;
+                long target = appended;
+                Segment segment = current;
+                IOException failure = null;
+                lock.unlock();
+                try {
+                    segment.channel.force(false);
+                } catch (IOException e) {
+                    failure = e;
+                } finally {
+                    lock.lock();
+                    syncing = false;
+                    synced.signalAll();
+                }
+                // A segment sealed meanwhile was forced when it was sealed, and may be closed since
+                if (failure != null && !(failure instanceof ClosedChannelException && segment.sealed)) {
+                    throw new UncheckedIOException("Could not force rating journal", failure);
+                }
+                forced = Math.max(forced, target);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks a rating as committed or dropped; deletes its segment once sealed and fully settled.
+     * Unknown rating IDs are ignored.
+     */
+    void settled(Long ratingId) {
+        lock.lock();
+        try {
+            Segment segment = unsettled.remove(ratingId);
+            if (segment != null && --segment.outstanding == 0 && segment.sealed) {
+                delete(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of segment files, including the current one.
+     */
+    int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                if (segment.channel != null) {
+                    segment.channel.close();
+                }
+            }
+            if (current.outstanding == 0) {
+                Files.deleteIfExists(current.path);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ========== Segments (lock held) ==========
+
+    /**
+     * Seals the current segment after forcing it, so its lines count as durable, and starts the next one.
+     */
+    private void rotate() throws IOException {
+        current.channel.force(false);
+        forced = appended;
+        synced.signalAll();
+        current.sealed = true;
+        Segment sealed = current;
+        current = startSegment(current.number + 1);
+        if (sealed.outstanding == 0) {
+            delete(sealed);
+        }
+    }
+
+    private Segment startSegment(long number) throws IOException {
+        Segment segment = new Segment(number, basePath.resolveSibling(basePath.getFileName() + "." + number));
+        segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segments.put(number, segment);
+        return segment;
+    }
+
+    private void delete(Segment segment) {
+        segments.remove(segment.number);
+        try {
+            if (segment.channel != null) {
+                segment.channel.close();
+            }
+            Files.deleteIfExists(segment.path);
+            logger.debug("Rating journal segment settled and deleted: {}", segment.path.getFileName());
+        } catch (IOException e) {
+            logger.error("Could not delete rating journal segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    // ========== Line Format ==========
+
+    /**
+     * One rating as a tab-separated line. Review text is Base64-encoded so it cannot break the line format.
+     */
+    private static String format(HostelRating r) {
+        String text = r.getReviewText() == null ? "-"
+                : Base64.getEncoder().encodeToString(r.getReviewText().getBytes(StandardCharsets.UTF_8));
+        return r.getRatingId() + "\t" + r.getHostelId() + "\t" + r.getUserId() + "\t"
+                + r.getCleanlinessRating() + "\t" + r.getFoodQualityRating() + "\t" + r.getSafetyRating() + "\t"
+                + r.getLocationRating() + "\t" + r.getAffordabilityRating() + "\t"
+                + r.getCreatedAt().getTime() + "\t" + text + "\n";
+    }
+
+    private static HostelRating parse(String line) {
+        String[] f = line.split("\t", -1);
+        HostelRating r = new HostelRating();
+        r.setRatingId(Long.parseLong(f[0]));
+        r.setHostelId(Long.parseLong(f[1]));
+        r.setUserId(Long.parseLong(f[2]));
+        r.setCleanlinessRating(Integer.parseInt(f[3]));
+        r.setFoodQualityRating(Integer.parseInt(f[4]));
+        r.setSafetyRating(Integer.parseInt(f[5]));
+        r.setLocationRating(Integer.parseInt(f[6]));
+        r.setAffordabilityRating(Integer.parseInt(f[7]));
+        r.setCreatedAt(new Timestamp(Long.parseLong(f[8])));
+        r.setUpdatedAt(r.getCreatedAt());
+        r.setReviewText("-".equals(f[9]) ? null
+                : new String(Base64.getDecoder().decode(f[9]), StandardCharsets.UTF_8));
+        return r;
+    }
+
+    /**
+     * Reads one segment. A torn last line from a crash mid-append is skipped.
+     */
+    private static List<HostelRating> read(Path path) throws IOException {
+        List<HostelRating> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    entries.add(parse(line));
+                } catch (RuntimeException e) {
+                    logger.warn("Skipping unreadable rating journal line in {}: {}", path.getFileName(), line);
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,143 @@
+package com.cdac.hostel.service;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cdac.hostel.dto.RatingTotals;
+import com.cdac.hostel.repository.HostelRatingAggregateRepository;
+
+/**
+ * Service layer for global rating statistics.
+ * Keeps running totals of all ratings in memory so the Bayesian prior (global average C)
+ * costs nothing at read time. Totals are bumped on each committed rating and
+ * periodically reconciled against the per-hostel aggregates.
+ *
+ * A rating transaction holds a shared commit gate from just before it commits until its
+ * delta is applied, and reconcile holds the gate exclusively while it reads and swaps in
+ * the totals. Every change is therefore either in both the database read and the totals
+ * it replaces, or in neither and applied afterwards, so none is lost or counted twice.
+ */
+@Service
+public class RatingStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingStatisticsService.class);
+
+    @Autowired
+    private HostelRatingAggregateRepository aggregateRepository;
+
+    // Current totals, replaced atomically; null until first loaded
+    private final AtomicReference<RatingTotals> totals = new AtomicReference<>();
+
+    // Shared by rating transactions while they commit, exclusive for reconcile
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    /**
+     * Retrieves the current global rating totals, loading them on first use.
+     * Callers that need a consistent prior for a whole pass should read this once.
+     *
+     * @return The current global rating totals
+     */
+    public RatingTotals getTotals() {
+        RatingTotals current = totals.get();
+        return current != null ? current : reconcile();
+    }
+
+    /**
+     * Global average overall rating across all hostels (prior mean C).
+     *
+     * @return The global average, or 3.0 when no ratings exist
+     */
+    public double getGlobalAverage() {
+        return getTotals().getOverallAverage();
+    }
+
+    /**
+     * Adds a rating change to the running totals once the current transaction commits,
+     * or right away if no transaction is active. Must be called inside the transaction
+     * that writes the change to the per-hostel aggregates.
+     *
+     * @param countDelta Change in rating count (1 for a new rating)
+     * @param cleanliness Change in cleanliness sum
+     * @param foodQuality Change in food quality sum
+     * @param safety Change in safety sum
+     * @param location Change in location sum
+     * @param affordability Change in affordability sum
+     */
+    public void applyDeltaOnCommit(long countDelta, long cleanliness, long foodQuality,
+                                   long safety, long location, long affordability) {
+        Runnable apply = () -> totals.updateAndGet(current -> current == null ? null
+                : current.plus(countDelta, cleanliness, foodQuality, safety, location, affordability));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean gateHeld;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitGate.readLock().lock();
+                gateHeld = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (gateHeld) {
+                    gateHeld = false;
+                    commitGate.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Reloads the totals from the per-hostel aggregates, discarding any accumulated drift.
+     * Waits for rating transactions that are committing, and holds new commits back until
+     * the reloaded totals are in place.
+     *
+     * @return The reloaded totals
+     */
+    @Scheduled(fixedDelayString = "${hostel.ratings.statistics.reconcile-interval-ms:600000}")
+    public RatingTotals reconcile() {
+        // A thread inside its own rating commit cannot wait for the gate; it reloads unguarded
+        boolean exclusive = commitGate.getReadHoldCount() == 0;
+        if (exclusive) {
+            commitGate.writeLock().lock();
+        }
+        RatingTotals reloaded;
+        RatingTotals previous;
+        try {
+            reloaded = aggregateRepository.sumAll();
+            if (reloaded == null) {
+                reloaded = RatingTotals.EMPTY;
+            }
+            previous = totals.getAndSet(reloaded);
+        } finally {
+            if (exclusive) {
+                commitGate.writeLock().unlock();
+            }
+        }
+
+        if (previous != null && previous.getRatingCount() != reloaded.getRatingCount()) {
+            logger.warn("Global rating totals reconciled: previousCount={}, actualCount={}",
+                        previous.getRatingCount(), reloaded.getRatingCount());
+        } else {
+            logger.debug("Global rating totals reconciled: count={}", reloaded.getRatingCount());
+        }
+
+        return reloaded;
+    }
+}
@@ -0,0 +1,442 @@
+package com.cdac.hostel.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cdac.hostel.dto.RatingKey;
+import com.cdac.hostel.exception.DuplicateResourceException;
+import com.cdac.hostel.exception.ServiceBusyException;
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.repository.HostelRatingRepository;
+import com.cdac.hostel.util.TransactionCallbacks;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional write-behind path for new ratings (hostel.ratings.write-behind.enabled).
+ * A validated rating takes an ID from a block reserved ahead from the regular rating sequence,
+ * is appended to a local journal and queued in a bounded in-memory queue; the request is
+ * acknowledged right away. A single writer thread drains the queue and inserts ratings in
+ * JDBC batches, updating aggregates once per batch. Submitting therefore never needs a connection.
+ *
+ * Durability: every accepted rating is forced to the journal (RatingJournal) before it is
+ * acknowledged, with one force shared by all submissions appended since the last one.
+ * Journal segments are deleted as soon as all their ratings are settled.
+ * A rating is dropped only when the database rejects it with a constraint violation
+ * (e.g. a duplicate); any other failure keeps the batch and retries it with backoff.
+ * On startup the writer first inserts journalled entries whose IDs are not in the database.
+ * Back-pressure: when the queue is full, submissions fail with ServiceBusyException (503).
+ */
+@Service
+public class RatingWriteBehindQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingWriteBehindQueue.class);
+
+    // Retry delays for a batch the database could not take, doubling up to the maximum
+    private static final long INITIAL_RETRY_BACKOFF_MS = 100;
+    private static final long MAX_RETRY_BACKOFF_MS = 30_000;
+
+    // Rating IDs kept reserved for submissions; topped up once half are used
+    private static final int ID_RESERVE = 10 * HostelRating.ID_ALLOCATION_SIZE;
+
+    // Journal segment size; a full segment is deleted once all its ratings are settled
+    private static final long JOURNAL_SEGMENT_BYTES = 4L * 1024 * 1024;
+
+    private static final String INSERT_SQL = "INSERT INTO hostel_ratings (rating_id, hostel_id, user_id, " +
+            "cleanliness_rating, food_quality_rating, safety_rating, location_rating, affordability_rating, " +
+            "review_text, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private HostelRatingRepository ratingRepository;
+
+    @Autowired
+    private RatingAggregateService aggregateService;
+
+    @Autowired
+    private ReviewSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${hostel.ratings.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${hostel.ratings.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${hostel.ratings.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${hostel.ratings.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${hostel.ratings.write-behind.journal-path:data/rating-write-behind.journal}")
+    private String journalPath;
+
+    private BlockingQueue<HostelRating> queue;
+
+    // IDs drawn from the rating sequence ahead of time by the prefetch thread
+    private BlockingQueue<Long> reservedIds;
+
+    private Thread idPrefetcher;
+
+    // (hostelId, userId) of queued ratings, so double-submits are rejected before they reach the database
+    private final Set<RatingKey> pending = ConcurrentHashMap.newKeySet();
+
+    // Guards journal appends and queue offers so an acknowledged rating is always both journalled and queued
+    private final Object journalLock = new Object();
+
+    private RatingJournal journal;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads the journal left by the previous run, then starts the writer thread,
+     * which inserts those entries before anything newly queued, and the ID prefetch thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        reservedIds = new ArrayBlockingQueue<>(ID_RESERVE);
+
+        Path path = Paths.get(journalPath);
+        journal = RatingJournal.open(path, JOURNAL_SEGMENT_BYTES);
+        List<HostelRating> journalled = journal.recovered();
+        for (HostelRating rating : journalled) {
+            pending.add(new RatingKey(rating.getHostelId(), rating.getUserId()));
+        }
+
+        running = true;
+        writer = new Thread(() -> runWriter(journalled), "rating-write-behind");
+        writer.start();
+        idPrefetcher = new Thread(this::runIdPrefetcher, "rating-id-prefetch");
+        idPrefetcher.setDaemon(true);
+        idPrefetcher.start();
+
+        logger.info("Rating write-behind started: capacity={}, batchSize={}, journalled={}, journal={}",
+                    queueCapacity, batchSize, journalled.size(), path.toAbsolutePath());
+    }
+
+    /**
+     * Whether a rating by this user for this hostel is waiting in the queue.
+     */
+    public boolean isPending(Long hostelId, Long userId) {
+        return pending.contains(new RatingKey(hostelId, userId));
+    }
+
+    /**
+     * Reserves (hostelId, userId) keys for a caller inserting ratings directly, such as a bulk import.
+     * A claimed key counts as pending, so no submission for it is accepted until it is unclaimed.
+     *
+     * @return The keys claimed; keys missing from it are already queued or claimed elsewhere
+     */
+    public Set<RatingKey> claim(Collection<RatingKey> keys) {
+        Set<RatingKey> claimed = new HashSet<>();
+        for (RatingKey key : keys) {
+            if (pending.add(key)) {
+                claimed.add(key);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Releases keys returned by claim, once the caller's insert has committed or failed.
+     */
+    public void unclaim(Collection<RatingKey> keys) {
+        pending.removeAll(keys);
+    }
+
+    /**
+     * Accepts a validated rating for a later batched insert. Needs no transaction or connection.
+     *
+     * @param rating The new rating, without an ID
+     * @return The same rating with its ID and creation time assigned
+     * @throws ServiceBusyException if the queue is full or no rating ID is reserved
+     */
+    public HostelRating submit(HostelRating rating) {
+        if (!running) {
+            throw new ServiceBusyException("Rating writer is not running; please retry shortly");
+        }
+        RatingKey key = new RatingKey(rating.getHostelId(), rating.getUserId());
+        if (!pending.add(key)) {
+            throw new DuplicateResourceException("User already rated this hostel");
+        }
+
+        long ticket;
+        try {
+            rating.setRatingId(takeRatingId());
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            rating.setCreatedAt(now);
+            rating.setUpdatedAt(now);
+
+            synchronized (journalLock) {
+                // Only the writer removes entries, so capacity seen here cannot shrink before offer
+                if (queue.remainingCapacity() == 0) {
+                    throw new ServiceBusyException("Too many ratings are being submitted; please retry shortly");
+                }
+                ticket = journal.append(rating);
+                queue.offer(rating);
+            }
+        } catch (RuntimeException e) {
+            pending.remove(key);
+            throw e;
+        }
+
+        // Outside the lock, so concurrent submissions share one force; the rating is already queued
+        journal.awaitDurable(ticket);
+
+        logger.debug("Rating queued: ratingId={}, queued={}", rating.getRatingId(), queue.size());
+        return rating;
+    }
+
+    /**
+     * Stops accepting work and waits for the writer to flush what is queued.
+     * If the database is unavailable, unflushed ratings stay in the journal for the next start.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        // Cut short a retry backoff
+        LockSupport.unpark(writer);
+        LockSupport.unpark(idPrefetcher);
+        writer.join();
+        journal.close();
+        logger.info("Rating write-behind stopped");
+    }
+
+    // ========== Writer ==========
+
+    private void runWriter(List<HostelRating> journalled) {
+        for (int from = 0; from < journalled.size(); from += batchSize) {
+            List<HostelRating> chunk = new ArrayList<>(
+                    journalled.subList(from, Math.min(from + batchSize, journalled.size())));
+            if (!flushUntilSettled(chunk, true)) {
+                return;
+            }
+        }
+
+        List<HostelRating> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                HostelRating first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!flushUntilSettled(batch, false)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Flushes a batch, retrying with exponential backoff until every rating in it is settled.
+     *
+     * @param batch Ratings to write; emptied as they settle
+     * @param journalled Whether the ratings come from the previous run's journal and may already be inserted
+     * @return false if the queue was stopped first; the ratings then stay in the journal
+     */
+    private boolean flushUntilSettled(List<HostelRating> batch, boolean journalled) {
+        long backoffMs = INITIAL_RETRY_BACKOFF_MS;
+        while (true) {
+            try {
+                if (journalled) {
+                    settleInserted(batch);
+                }
+                flush(batch);
+                return true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    logger.error("Rating write-behind stopped before flushing; ratings stay journalled: " +
+                                 "ratings={}, error={}", batch.size() + queue.size(), e.getMessage());
+                    return false;
+                }
+                logger.warn("Rating write-behind flush failed, retrying in {} ms: ratings={}, error={}",
+                            backoffMs, batch.size(), e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch in one transaction and removes each rating from it once settled:
+     * committed, or rejected by a constraint (e.g. a duplicate). If the batch is rejected
+     * by a constraint it falls back to one transaction per rating, so only the offending
+     * row is dropped. Any other failure is rethrown with the unsettled ratings left in the batch.
+     */
+    private void flush(List<HostelRating> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch);
+            logger.debug("Rating write-behind batch flushed: ratings={}", batch.size());
+            batch.forEach(this::release);
+            batch.clear();
+            return;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Rating write-behind batch rejected, retrying one by one: ratings={}, error={}",
+                        batch.size(), e.getMessage());
+        }
+
+        Iterator<HostelRating> it = batch.iterator();
+        while (it.hasNext()) {
+            HostelRating rating = it.next();
+            try {
+                insert(List.of(rating));
+            } catch (DataIntegrityViolationException rowError) {
+                logger.error("Dropping queued rating rejected by the database: ratingId={}, hostelId={}, " +
+                             "userId={}, error={}", rating.getRatingId(), rating.getHostelId(),
+                             rating.getUserId(), rowError.getMessage());
+            }
+            release(rating);
+            it.remove();
+        }
+    }
+
+    /**
+     * Settles journalled ratings that the previous run committed but did not get to mark as settled.
+     */
+    private void settleInserted(List<HostelRating> batch) {
+        Set<Long> existing = new HashSet<>();
+        ratingRepository.findAllById(batch.stream().map(HostelRating::getRatingId).toList())
+                .forEach(r -> existing.add(r.getRatingId()));
+        batch.removeIf(r -> {
+            if (existing.contains(r.getRatingId())) {
+                release(r);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void release(HostelRating rating) {
+        journal.settled(rating.getRatingId());
+        pending.remove(new RatingKey(rating.getHostelId(), rating.getUserId()));
+    }
+
+    private void insert(List<HostelRating> ratings) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, ratings, ratings.size(), (ps, r) -> {
+                ps.setLong(1, r.getRatingId());
+                ps.setLong(2, r.getHostelId());
+                ps.setLong(3, r.getUserId());
+                ps.setInt(4, r.getCleanlinessRating());
+                ps.setInt(5, r.getFoodQualityRating());
+                ps.setInt(6, r.getSafetyRating());
+                ps.setInt(7, r.getLocationRating());
+                ps.setInt(8, r.getAffordabilityRating());
+                ps.setString(9, r.getReviewText());
+                ps.setTimestamp(10, r.getCreatedAt());
+                ps.setTimestamp(11, r.getUpdatedAt());
+            });
+            aggregateService.recordRatings(ratings);
+            TransactionCallbacks.afterCommit(() -> {
+                for (HostelRating r : ratings) {
+                    searchIndex.index(r.getRatingId(), r.getHostelId(), r.getReviewText());
+                }
+            });
+        });
+    }
+
+    // ========== ID Assignment ==========
+
+    private Long takeRatingId() {
+        Long id = reservedIds.poll();
+        if (reservedIds.size() < ID_RESERVE / 2) {
+            LockSupport.unpark(idPrefetcher);
+        }
+        if (id == null) {
+            throw new ServiceBusyException("Rating IDs are being reserved; please retry shortly");
+        }
+        return id;
+    }
+
+    /**
+     * Keeps the ID reserve topped up, so submissions never wait for the sequence table.
+     */
+    private void runIdPrefetcher() {
+        long backoffMs = INITIAL_RETRY_BACKOFF_MS;
+        while (running) {
+            if (reservedIds.size() >= ID_RESERVE / 2) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                continue;
+            }
+            try {
+                while (reservedIds.remainingCapacity() >= HostelRating.ID_ALLOCATION_SIZE) {
+                    reserveIdBlock();
+                }
+                backoffMs = INITIAL_RETRY_BACKOFF_MS;
+            } catch (RuntimeException e) {
+                logger.warn("Could not reserve rating IDs, retrying in {} ms: error={}", backoffMs, e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * Reserves one block of rating IDs from hostel_ratings_seq, the table behind the entity's
+     * pooled sequence generator, and adds it to the reserve. Follows the pooled optimizer's
+     * contract: the value read is the top of a block of ID_ALLOCATION_SIZE IDs and next_val
+     * moves up by one block, so queued and directly saved ratings never collide.
+     */
+    private void reserveIdBlock() {
+        long top = transactionTemplate.execute(status -> {
+            long next = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM hostel_ratings_seq FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE hostel_ratings_seq SET next_val = ?", next + HostelRating.ID_ALLOCATION_SIZE);
+            return next;
+        });
+        for (long id = top - HostelRating.ID_ALLOCATION_SIZE + 1; id <= top; id++) {
+            reservedIds.offer(id);
+        }
+    }
+}
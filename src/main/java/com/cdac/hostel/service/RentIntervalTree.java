@@ -0,0 +1,102 @@
+package com.cdac.hostel.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Static augmented interval tree over hostel rent ranges, in paise.
+ * Intervals are sorted by lower bound and the tree is implicit in that array: the
+ * node of a range [lo, hi) is its middle element, with the left and right halves as
+ * subtrees. Each node also stores the largest upper bound in its subtree, so an
+ * overlap query skips every subtree that ends below the budget and every right
+ * subtree that starts above it. A query costs O(log n) per reported hostel instead
+ * of a scan over all rents.
+ *
+ * Immutable; rebuilt whenever the set of indexed hostels changes.
+ */
+final class RentIntervalTree {
+
+    static final RentIntervalTree EMPTY = new RentIntervalTree(new long[0], new long[0], new int[0]);
+
+    private final long[] lows;
+    private final long[] highs;
+    private final int[] slots;
+    // maxHighs[node] = largest upper bound in the subtree rooted at node
+    private final long[] maxHighs;
+
+    private RentIntervalTree(long[] lows, long[] highs, int[] slots) {
+        this.lows = lows;
+        this.highs = highs;
+        this.slots = slots;
+        this.maxHighs = new long[lows.length];
+        augment(0, lows.length);
+    }
+
+    /**
+     * Builds a tree from parallel arrays of rent bounds and slots, in any order.
+     * Each interval must have low <= high.
+     */
+    static RentIntervalTree build(long[] lows, long[] highs, int[] slots) {
+        int n = lows.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(lows[a], lows[b]));
+
+        long[] sortedLows = new long[n];
+        long[] sortedHighs = new long[n];
+        int[] sortedSlots = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedLows[i] = lows[order[i]];
+            sortedHighs[i] = highs[order[i]];
+            sortedSlots[i] = slots[order[i]];
+        }
+        return new RentIntervalTree(sortedLows, sortedHighs, sortedSlots);
+    }
+
+    int size() {
+        return lows.length;
+    }
+
+    /**
+     * Slots of all intervals overlapping [from, to], bounds inclusive.
+     * Pass Long.MIN_VALUE or Long.MAX_VALUE for an open side.
+     */
+    BitSet overlapping(long from, long to) {
+        BitSet result = new BitSet();
+        if (from <= to) {
+            collect(0, lows.length, from, to, result);
+        }
+        return result;
+    }
+
+    private void collect(int lo, int hi, long from, long to, BitSet result) {
+        while (lo < hi) {
+            int node = (lo + hi) >>> 1;
+            // Nothing in this subtree reaches up to the budget
+            if (maxHighs[node] < from) {
+                return;
+            }
+            collect(lo, node, from, to, result);
+            // This node and its right subtree start above the budget
+            if (lows[node] > to) {
+                return;
+            }
+            if (highs[node] >= from) {
+                result.set(slots[node]);
+            }
+            lo = node + 1;
+        }
+    }
+
+    private long augment(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int node = (lo + hi) >>> 1;
+        long max = Math.max(highs[node], Math.max(augment(lo, node), augment(node + 1, hi)));
+        maxHighs[node] = max;
+        return max;
+    }
+}
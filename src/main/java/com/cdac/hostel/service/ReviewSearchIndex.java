@@ -0,0 +1,277 @@
+package com.cdac.hostel.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.repository.HostelRatingRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * In-process inverted index over rating review texts, scored with BM25.
+ * Review text is lowercased and split into word tokens; each term maps to its posting
+ * lists, grouped per hostel, of rating ID -> term frequency. A hostel search only walks
+ * that hostel's postings, and the global search walks all of them.
+ *
+ * Built from hostel_ratings at startup and kept current by indexing each rating
+ * after the transaction that wrote it commits. Reads share a read lock; updates
+ * take the write lock for the few postings they touch.
+ */
+@Component
+public class ReviewSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewSearchIndex.class);
+
+    // BM25 parameters: term frequency saturation and document length normalisation
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Very common words that carry no meaning in a search
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "is", "it",
+            "of", "on", "or", "so", "the", "this", "to", "was", "were", "with");
+
+    @Autowired
+    private HostelRatingRepository ratingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> hostelId -> ratingId -> term frequency
+    private final Map<String, Map<Long, Map<Long, Integer>>> postings = new HashMap<>();
+
+    // term -> number of ratings containing it
+    private final Map<String, Integer> documentFrequency = new HashMap<>();
+
+    // ratingId -> indexed document
+    private final Map<Long, IndexedReview> documents = new HashMap<>();
+
+    private long totalLength;
+
+    /**
+     * A search result: the rating and its BM25 score.
+     */
+    public static final class Hit {
+        private final long ratingId;
+        private final long hostelId;
+        private final double score;
+
+        Hit(long ratingId, long hostelId, double score) {
+            this.ratingId = ratingId;
+            this.hostelId = hostelId;
+            this.score = score;
+        }
+
+        public long getRatingId() {
+            return ratingId;
+        }
+
+        public long getHostelId() {
+            return hostelId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private static final class IndexedReview {
+        private final long hostelId;
+        private final int length;
+        private final Set<String> terms;
+
+        IndexedReview(long hostelId, int length, Set<String> terms) {
+            this.hostelId = hostelId;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * Indexes every existing review at startup, streaming ratings so memory holds
+     * only the index itself.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildOnStartup() {
+        long count = 0;
+        try (Stream<HostelRating> ratings = ratingRepository.streamAllByOrderByRatingId()) {
+            Iterator<HostelRating> it = ratings.iterator();
+            while (it.hasNext()) {
+                HostelRating rating = it.next();
+                index(rating.getRatingId(), rating.getHostelId(), rating.getReviewText());
+                entityManager.detach(rating);
+                count++;
+            }
+        }
+        logger.info("Review search index built: ratings={}, terms={}", count, postings.size());
+    }
+
+    /**
+     * Adds a review to the index, replacing any earlier version of the same rating.
+     * Call after the rating's transaction has committed.
+     *
+     * @param ratingId The ID of the rating
+     * @param hostelId The ID of the rated hostel
+     * @param reviewText The review text (may be null)
+     */
+    public void index(Long ratingId, Long hostelId, String reviewText) {
+        List<String> tokens = tokenize(reviewText);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            remove(ratingId);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>())
+                        .computeIfAbsent(hostelId, h -> new HashMap<>())
+                        .put(ratingId, entry.getValue());
+                documentFrequency.merge(entry.getKey(), 1, Integer::sum);
+            }
+            documents.put(ratingId, new IndexedReview(hostelId, tokens.size(), frequencies.keySet()));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches review texts, best BM25 score first.
+     *
+     * @param query The search terms
+     * @param hostelId Restrict to one hostel's reviews, or null for all hostels
+     * @param limit Maximum number of hits
+     * @return Up to limit hits ordered by score (descending)
+     */
+    public List<Hit> search(String query, Long hostelId, int limit) {
+        Set<String> terms = new HashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int n = documents.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / n;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Map<Long, Integer>> byHostel = postings.get(term);
+                if (byHostel == null) {
+                    continue;
+                }
+                int df = documentFrequency.get(term);
+                double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+
+                Iterable<Map<Long, Integer>> lists = hostelId != null
+                        ? singleton(byHostel.get(hostelId))
+                        : byHostel.values();
+                for (Map<Long, Integer> list : lists) {
+                    for (Map.Entry<Long, Integer> posting : list.entrySet()) {
+                        int length = documents.get(posting.getKey()).length;
+                        double tf = posting.getValue();
+                        double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                        scores.merge(posting.getKey(), idf * norm, Double::sum);
+                    }
+                }
+            }
+
+            // Bounded min-heap keeps the best hits; ties go to the newer (higher) rating ID
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(
+                    (a, b) -> a.getValue().equals(b.getValue())
+                            ? Long.compare(a.getKey(), b.getKey())
+                            : Double.compare(a.getValue(), b.getValue()));
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                best.offer(entry);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                Map.Entry<Long, Double> entry = best.poll();
+                hits.add(new Hit(entry.getKey(), documents.get(entry.getKey()).hostelId, entry.getValue()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a rating's postings. Caller holds the write lock.
+     */
+    private void remove(Long ratingId) {
+        IndexedReview previous = documents.remove(ratingId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Map<Long, Integer>> byHostel = postings.get(term);
+            Map<Long, Integer> list = byHostel.get(previous.hostelId);
+            list.remove(ratingId);
+            if (list.isEmpty()) {
+                byHostel.remove(previous.hostelId);
+                if (byHostel.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            documentFrequency.computeIfPresent(term, (t, df) -> df > 1 ? df - 1 : null);
+        }
+        totalLength -= previous.length;
+    }
+
+    /**
+     * Lowercases the text and splits it into word tokens, dropping stop words and single characters.
+     * Combining marks count as part of a word, so Devanagari vowel signs do not split Hindi words.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{M}\\p{N}]+")) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Iterable<Map<Long, Integer>> singleton(Map<Long, Integer> list) {
+        return list != null ? List.of(list) : List.of();
+    }
+}
@@ -0,0 +1,331 @@
+package com.cdac.hostel.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.cdac.hostel.dto.SuggestionDTO;
+
+/**
+ * Prefix trie over suggestion texts, keyed by every word start of each text.
+ * Nodes keep their children in sorted parallel arrays and store the best
+ * HostelSuggestIndex.MAX_SUGGESTIONS suggestions of their subtree, so a lookup is a
+ * walk down the prefix and a copy, independent of how many suggestions match.
+ * Suggestions rank by rating count (descending), then text, then type.
+ *
+ * Updated in place, one suggestion at a time: put and remove only visit the paths of
+ * that suggestion's keys. Adding a suggestion, or raising its rating count, merges it into
+ * each node's best list on the way; removing or demoting one recomputes the best list of
+ * the nodes that held it from their children and the suggestions ending there.
+ * Not thread-safe; HostelSuggestIndex guards it with a read-write lock.
+ */
+final class SuggestionTrie {
+
+    private static final Comparator<Entry> RANK = Comparator
+            .comparingLong((Entry e) -> e.suggestion.getRatingCount()).reversed()
+            .thenComparing(e -> e.suggestion.getText(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(e -> e.suggestion.getType())
+            .thenComparingLong(e -> e.sequence);
+
+    private final Node root = new Node();
+
+    // Type and hostel ID (or normalised text, for combined suggestions) -> entry
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private long nextSequence;
+
+    /**
+     * A suggestion in the trie; the same entry is shared by every node that ranks it.
+     */
+    private static final class Entry {
+        // Tie-break between suggestions that compare equal otherwise
+        private final long sequence;
+        private SuggestionDTO suggestion;
+
+        Entry(long sequence, SuggestionDTO suggestion) {
+            this.sequence = sequence;
+            this.suggestion = suggestion;
+        }
+    }
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        // Suggestions whose key ends here; null if none
+        private List<Entry> terminals;
+        // Best of the subtree, best first
+        private Entry[] top = new Entry[0];
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node child = new Node();
+            labels = insertAt(labels, at, label);
+            children = insertAt(children, at, child);
+            return child;
+        }
+
+        void removeChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return labels.length == 0 && (terminals == null || terminals.isEmpty());
+        }
+    }
+
+    /**
+     * Builds a trie holding the given suggestions.
+     */
+    static SuggestionTrie build(SuggestionDTO... suggestions) {
+        SuggestionTrie trie = new SuggestionTrie();
+        for (SuggestionDTO suggestion : suggestions) {
+            trie.put(suggestion);
+        }
+        return trie;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Adds a suggestion, or replaces the one with the same identity: the same hostel for
+     * hostel suggestions, the same type and normalised text otherwise.
+     * The suggestion must not be modified afterwards; put a new one instead.
+     */
+    void put(SuggestionDTO suggestion) {
+        Entry entry = entries.get(identity(suggestion));
+        if (entry == null) {
+            entry = new Entry(nextSequence++, suggestion);
+            entries.put(identity(suggestion), entry);
+            insert(entry);
+            return;
+        }
+
+        SuggestionDTO previous = entry.suggestion;
+        if (previous.getText().equals(suggestion.getText())
+                && suggestion.getRatingCount() >= previous.getRatingCount()) {
+            // Same keys and a rank at least as good: only merging is needed
+            entry.suggestion = suggestion;
+            for (String key : keys(suggestion.getText())) {
+                for (Node node : path(key, false)) {
+                    offer(node, entry);
+                }
+            }
+        } else {
+            unlink(entry);
+            entry.suggestion = suggestion;
+            insert(entry);
+        }
+    }
+
+    /**
+     * Removes the suggestion with the same identity as this one, if present.
+     */
+    void remove(SuggestionDTO suggestion) {
+        Entry entry = entries.remove(identity(suggestion));
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * Suggestions whose text has a word starting with the prefix, best first.
+     *
+     * @param prefix What the user has typed so far (case-insensitive)
+     * @param limit Maximum number of suggestions, capped at HostelSuggestIndex.MAX_SUGGESTIONS
+     * @return Up to limit suggestions
+     */
+    List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalise(prefix);
+        if (key.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        int n = Math.min(limit, node.top.length);
+        List<SuggestionDTO> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(node.top[i].suggestion);
+        }
+        return result;
+    }
+
+    // ========== Updates ==========
+
+    private void insert(Entry entry) {
+        for (String key : keys(entry.suggestion.getText())) {
+            Node[] path = path(key, true);
+            Node end = path[path.length - 1];
+            if (end.terminals == null) {
+                end.terminals = new ArrayList<>(1);
+            }
+            end.terminals.add(entry);
+            for (Node node : path) {
+                offer(node, entry);
+            }
+        }
+    }
+
+    /**
+     * Takes an entry out of every node, bottom-up along each of its key paths, and prunes nodes left empty.
+     * Only nodes that ranked the entry are recomputed.
+     */
+    private void unlink(Entry entry) {
+        for (String key : keys(entry.suggestion.getText())) {
+            Node[] path = path(key, false);
+            if (path == null) {
+                continue;
+            }
+            path[path.length - 1].terminals.remove(entry);
+            for (int i = path.length - 1; i >= 0; i--) {
+                Node node = path[i];
+                if (i < path.length - 1 && path[i + 1].isEmpty()) {
+                    node.removeChild(key.charAt(i));
+                }
+                if (indexOf(node.top, entry) >= 0) {
+                    recompute(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges an entry into a node's best list if it ranks there, or re-sorts the list if it is already in it.
+     */
+    private static void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        if (indexOf(top, entry) >= 0) {
+            Arrays.sort(top, RANK);
+            return;
+        }
+        if (top.length == HostelSuggestIndex.MAX_SUGGESTIONS) {
+            if (RANK.compare(entry, top[top.length - 1]) > 0) {
+                return;
+            }
+            top = Arrays.copyOf(top, top.length - 1);
+        }
+        int at = Arrays.binarySearch(top, entry, RANK);
+        node.top = insertAt(top, -at - 1, entry);
+    }
+
+    /**
+     * Recomputes a node's best list from its children's lists and the suggestions ending at it.
+     * A node can end many keys (e.g. "hostel"), so this is kept to removals and demotions.
+     */
+    private static void recompute(Node node) {
+        List<Entry> candidates = new ArrayList<>();
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals);
+        }
+        for (Node child : node.children) {
+            for (Entry entry : child.top) {
+                candidates.add(entry);
+            }
+        }
+        node.top = candidates.stream()
+                .distinct()
+                .sorted(RANK)
+                .limit(HostelSuggestIndex.MAX_SUGGESTIONS)
+                .toArray(Entry[]::new);
+    }
+
+    /**
+     * Nodes from the root to the end of the key, or null if the key is absent and create is false.
+     */
+    private Node[] path(String key, boolean create) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = create ? path[i].addChild(key.charAt(i)) : path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Every word start of the text, from its first word to its last.
+     */
+    private static List<String> keys(String text) {
+        String normalised = normalise(text);
+        List<String> keys = new ArrayList<>();
+        for (int start = 0; start < normalised.length(); start++) {
+            if (start == 0 || normalised.charAt(start - 1) == ' ') {
+                keys.add(normalised.substring(start));
+            }
+        }
+        return keys;
+    }
+
+    private static String identity(SuggestionDTO suggestion) {
+        return suggestion.getType() + ":"
+                + (suggestion.getHostelId() != null ? suggestion.getHostelId() : normalise(suggestion.getText()));
+    }
+
+    private static int indexOf(Entry[] top, Entry entry) {
+        for (int i = 0; i < top.length; i++) {
+            if (top[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static char[] insertAt(char[] array, int at, char value) {
+        char[] result = new char[array.length + 1];
+        System.arraycopy(array, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(array, at, result, at + 1, array.length - at);
+        return result;
+    }
+
+    private static <T> T[] insertAt(T[] array, int at, T value) {
+        T[] result = Arrays.copyOf(array, array.length + 1);
+        result[at] = value;
+        System.arraycopy(array, at, result, at + 1, array.length - at);
+        return result;
+    }
+
+    /**
+     * Lowercases and collapses whitespace, so keys and queries compare word by word.
+     */
+    static String normalise(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
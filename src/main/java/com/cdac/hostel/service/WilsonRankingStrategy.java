@@ -0,0 +1,37 @@
+package com.cdac.hostel.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Wilson score lower bound ranking.
+ * Maps the average rating onto a positive fraction p = (R - 1) / 4, takes the lower
+ * bound of its 95% Wilson score interval over v ratings and maps it back to the 1-5 scale.
+ * A hostel needs both a high average and many ratings to rank high; there is no prior,
+ * so unrated hostels score 1.
+ */
+@Component
+public class WilsonRankingStrategy implements RankingStrategy {
+
+    public static final String NAME = "wilson";
+
+    // z-score of the 95% confidence level
+    private static final double Z = 1.96;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public double score(double priorMean, double mean, double count, double meanOfSquares) {
+        if (count <= 0) {
+            return 1.0;
+        }
+        double p = Math.min(1.0, Math.max(0.0, (mean - 1.0) / 4.0));
+        double z2 = Z * Z;
+        double centre = p + z2 / (2 * count);
+        double margin = Z * Math.sqrt(p * (1 - p) / count + z2 / (4 * count * count));
+        double lowerBound = (centre - margin) / (1 + z2 / count);
+        return 1.0 + 4.0 * lowerBound;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cdac.hostel.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.cdac.hostel.exception.InvalidRequestException;
+
+/**
+ * Encodes and decodes opaque keyset-pagination cursors.
+ * A cursor is the sort key of the last item of a page (e.g. score and hostel ID),
+ * joined with '|' and Base64url-encoded so clients treat it as an opaque token.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    // Upper bound on the page size clients may request
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes the sort key parts into a cursor.
+     *
+     * @param parts The sort key values, in order
+     * @return The opaque cursor string
+     */
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into its sort key parts.
+     *
+     * @param cursor The cursor received from the client
+     * @param expectedParts Number of parts the cursor must contain
+     * @return The sort key values as strings
+     * @throws InvalidRequestException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Validates a requested page size.
+     *
+     * @param size The requested number of items per page
+     * @throws InvalidRequestException if size is outside 1..MAX_PAGE_SIZE
+     */
+    public static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public static long parseLong(String part) {
+        try {
+            return Long.parseLong(part);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public static double parseDouble(String part) {
+        try {
+            return Double.parseDouble(part);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    public static Instant parseInstant(String part) {
+        try {
+            return Instant.parse(part);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
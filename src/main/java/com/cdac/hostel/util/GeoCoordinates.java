@@ -0,0 +1,63 @@
+package com.cdac.hostel.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for latitude/longitude handling: extracting coordinates from the free-form
+ * map location a hostel is submitted with, and great-circle distances.
+ */
+public final class GeoCoordinates {
+
+    // Mean Earth radius used by the haversine formula
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // Kilometres per degree of latitude (and of longitude at the equator)
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    // "lat,lon" as found in map links (?q=, ?query=, ?ll=, /@...) or on its own; the comma may be URL-encoded
+    private static final Pattern COORDINATES = Pattern.compile(
+            "(?:[?&](?:q|query|ll|center|destination)=|@|^)\\s*(-?\\d{1,2}(?:\\.\\d+)?)\\s*(?:,|%2C)\\s*(-?\\d{1,3}(?:\\.\\d+)?)",
+            Pattern.CASE_INSENSITIVE);
+
+    private GeoCoordinates() {
+    }
+
+    /**
+     * Extracts coordinates from a map location such as
+     * "https://maps.google.com/?q=18.5204,73.8567", ".../@18.5204,73.8567,15z" or "18.5204, 73.8567".
+     *
+     * @param mapLocation The map location text (may be null)
+     * @return {latitude, longitude}, or null if none could be found
+     */
+    public static double[] parse(String mapLocation) {
+        if (mapLocation == null || mapLocation.isBlank()) {
+            return null;
+        }
+        Matcher matcher = COORDINATES.matcher(mapLocation.trim());
+        while (matcher.find()) {
+            double latitude = Double.parseDouble(matcher.group(1));
+            double longitude = Double.parseDouble(matcher.group(2));
+            if (isValid(latitude, longitude)) {
+                return new double[] {latitude, longitude};
+            }
+        }
+        return null;
+    }
+
+    public static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * Great-circle distance between two points, in kilometres.
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
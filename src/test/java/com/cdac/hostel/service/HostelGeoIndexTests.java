@@ -0,0 +1,78 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.cdac.hostel.dto.HostelDTO;
+import com.cdac.hostel.util.GeoCoordinates;
+
+class HostelGeoIndexTests {
+
+    @Test
+    void nearbyMatchesBruteForceAcrossCells() {
+        Random random = new Random(3);
+        HostelGeoIndex index = new HostelGeoIndex();
+        List<HostelDTO> hostels = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            // Scattered over roughly 50 x 50 km around Pune
+            HostelDTO hostel = hostel(id, 18.3 + 0.45 * random.nextDouble(), 73.6 + 0.45 * random.nextDouble());
+            hostels.add(hostel);
+            index.add(hostel);
+        }
+
+        double latitude = 18.5204;
+        double longitude = 73.8567;
+        for (double radiusKm : new double[] {0.5, 3, 12}) {
+            List<Long> expected = hostels.stream()
+                    .filter(h -> distance(h, latitude, longitude) <= radiusKm)
+                    .sorted(Comparator.comparingDouble((HostelDTO h) -> distance(h, latitude, longitude))
+                            .thenComparing(HostelDTO::getHostelId))
+                    .limit(25)
+                    .map(HostelDTO::getHostelId)
+                    .toList();
+
+            List<Long> actual = index.nearby(latitude, longitude, radiusKm, 25, h -> true).stream()
+                    .map(hit -> hit.getHostel().getHostelId())
+                    .toList();
+
+            assertEquals(expected, actual, "radius " + radiusKm);
+        }
+    }
+
+    @Test
+    void appliesFilterAndFollowsUpdates() {
+        HostelGeoIndex index = new HostelGeoIndex();
+        index.add(hostel(1, 18.5204, 73.8567));
+        index.add(hostel(2, 18.5210, 73.8570));
+        index.add(hostel(3, 18.5300, 73.8600));
+
+        List<HostelGeoIndex.Hit> odd = index.nearby(18.5204, 73.8567, 5, 10, h -> h.getHostelId() % 2 == 1);
+        assertEquals(List.of(1L, 3L), odd.stream().map(hit -> hit.getHostel().getHostelId()).toList());
+
+        // Moving a hostel far away and removing another leaves one nearby
+        index.add(hostel(2, 28.6139, 77.2090));
+        index.remove(3L);
+        List<HostelGeoIndex.Hit> hits = index.nearby(18.5204, 73.8567, 5, 10, h -> true);
+        assertEquals(1, hits.size());
+        assertTrue(hits.get(0).getDistanceKm() < 1e-9);
+    }
+
+    private static HostelDTO hostel(long id, double latitude, double longitude) {
+        HostelDTO hostel = new HostelDTO();
+        hostel.setHostelId(id);
+        hostel.setLatitude(latitude);
+        hostel.setLongitude(longitude);
+        return hostel;
+    }
+
+    private static double distance(HostelDTO hostel, double latitude, double longitude) {
+        return GeoCoordinates.haversineKm(latitude, longitude, hostel.getLatitude(), hostel.getLongitude());
+    }
+}
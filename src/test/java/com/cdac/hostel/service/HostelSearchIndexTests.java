@@ -0,0 +1,113 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.cdac.hostel.dto.HostelDTO;
+import com.cdac.hostel.dto.HostelSearchQuery;
+import com.cdac.hostel.dto.HostelSearchResult;
+
+class HostelSearchIndexTests {
+
+    @Test
+    void budgetFilterMatchesOverlappingRentRanges() {
+        HostelSearchIndex index = new HostelSearchIndex();
+        index.add(hostel(1, "Pune", "5000", "7000", true));
+        index.add(hostel(2, "Pune", "8000", "8000", false));
+        index.add(hostel(3, "Pune", "12000", "15000", true));
+        // Only one bound given: treated as a single rent
+        index.add(hostel(4, "Pune", null, "6500", false));
+
+        assertEquals(List.of(1L, 2L), ids(index, query(null, "7000.00", "8000")));
+        assertEquals(List.of(1L, 4L), ids(index, query(null, null, "6500")));
+        HostelSearchQuery withWifi = query(null, "7999.99", null);
+        withWifi.setWifi(true);
+        assertEquals(List.of(3L), ids(index, withWifi));
+        assertEquals(List.of(), ids(index, query(null, "8000.01", "11999.99")));
+    }
+
+    @Test
+    void budgetFilterFollowsChangesAfterEarlierSearches() {
+        HostelSearchIndex index = new HostelSearchIndex();
+        index.add(hostel(1, "Pune", "5000", "6000", true));
+        index.add(hostel(2, "Pune", "9000", "9000", true));
+        assertEquals(List.of(1L), ids(index, query(null, null, "7000")));
+
+        // Hostel 3 reuses hostel 1's slot with a different rent
+        index.remove(1L);
+        index.add(hostel(3, "Pune", "20000", "20000", true));
+        index.add(hostel(2, "Pune", "6500", "6500", true));
+
+        assertEquals(List.of(2L), ids(index, query(null, null, "7000")));
+        assertEquals(List.of(3L), ids(index, query(null, "10000", null)));
+        assertEquals(List.of(2L, 3L), ids(index, query(null, null, null)));
+    }
+
+    @Test
+    void pagesInHostelIdOrderWhateverTheApprovalOrder() {
+        HostelSearchIndex index = new HostelSearchIndex();
+        long[] approvalOrder = {9, 3, 15, 1, 12, 6, 18, 4};
+        for (long id : approvalOrder) {
+            index.add(hostel(id, id % 2 == 0 ? "Pune" : "Mumbai", "6000", "6000", true));
+        }
+        index.remove(12L);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            HostelSearchResult page = index.search(query("pune", null, null), cursor, 2);
+            assertEquals(3, page.getTotal());
+            page.getItems().forEach(h -> paged.add(h.getHostelId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(4L, 6L, 18L), paged);
+    }
+
+    @Test
+    void facetsCountAllMatchesNotJustThePage() {
+        HostelSearchIndex index = new HostelSearchIndex();
+        index.add(hostel(1, "Pune", "5000", "6000", true));
+        index.add(hostel(2, "pune ", "5000", "6000", false));
+        index.add(hostel(3, "Mumbai", "9000", "9000", true));
+
+        HostelSearchResult result = index.search(query(null, null, null), null, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(3, result.getTotal());
+        assertEquals(Map.of("Pune", 2, "Mumbai", 1), result.getFacets().get(HostelSearchIndex.FACET_CITY));
+        assertEquals(Integer.valueOf(2), result.getFacets().get(HostelSearchIndex.FACET_FACILITY).get("wifi"));
+
+        HostelSearchResult last = index.search(query(null, null, null), null, 3);
+        assertNull(last.getNextCursor());
+    }
+
+    private static List<Long> ids(HostelSearchIndex index, HostelSearchQuery query) {
+        return index.search(query, null, 100).getItems().stream().map(HostelDTO::getHostelId).toList();
+    }
+
+    private static HostelSearchQuery query(String city, String minRent, String maxRent) {
+        HostelSearchQuery query = new HostelSearchQuery();
+        query.setCity(city);
+        query.setMinRent(minRent != null ? new BigDecimal(minRent) : null);
+        query.setMaxRent(maxRent != null ? new BigDecimal(maxRent) : null);
+        return query;
+    }
+
+    private static HostelDTO hostel(long id, String city, String rentMin, String rentMax, boolean wifi) {
+        HostelDTO hostel = new HostelDTO();
+        hostel.setHostelId(id);
+        hostel.setCity(city);
+        hostel.setMonthlyRentMin(rentMin != null ? new BigDecimal(rentMin) : null);
+        hostel.setMonthlyRentMax(rentMax != null ? new BigDecimal(rentMax) : null);
+        hostel.setHasWifi(wifi);
+        return hostel;
+    }
+}
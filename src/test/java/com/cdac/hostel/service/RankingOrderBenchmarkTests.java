@@ -0,0 +1,72 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timed comparison of top-K selection against sorting every hostel and truncating,
+ * at 1k, 10k and 100k hostels. Logs the median time of each; only asserts that the
+ * heap wins clearly at 100k, where the gap is far larger than timer noise.
+ * Not part of the default build; run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+class RankingOrderBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingOrderBenchmarkTests.class);
+
+    private static final int TOP_K = 10;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 11;
+
+    @Test
+    void topKBeatsFullSort() {
+        long topKAt100k = 0;
+        long fullSortAt100k = 0;
+
+        for (int n : new int[] {1_000, 10_000, 100_000}) {
+            Random random = new Random(n);
+            double[] scores = new double[n];
+            long[] hostelIds = new long[n];
+            for (int i = 0; i < n; i++) {
+                scores[i] = 1.0 + 4.0 * random.nextDouble();
+                hostelIds[i] = i + 1;
+            }
+
+            assertArrayEquals(RankingOrderTests.fullSort(scores, hostelIds, null, TOP_K),
+                    RankingOrder.top(scores, hostelIds, null, TOP_K));
+
+            long topK = medianNanos(() -> RankingOrder.top(scores, hostelIds, null, TOP_K));
+            long fullSort = medianNanos(() -> RankingOrderTests.fullSort(scores, hostelIds, null, TOP_K));
+            logger.info("Ranking top {} of {} hostels: topK={} us, fullSort={} us",
+                        TOP_K, n, topK / 1_000, fullSort / 1_000);
+
+            topKAt100k = topK;
+            fullSortAt100k = fullSort;
+        }
+
+        assertTrue(topKAt100k * 2 < fullSortAt100k,
+                "top-K should be well ahead of a full sort at 100k hostels");
+    }
+
+    private static long medianNanos(Runnable task) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        long[] times = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_ROUNDS / 2];
+    }
+}
@@ -0,0 +1,76 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class RankingOrderTests {
+
+    @Test
+    void returnsBestFirstWithTiesByLowerHostelId() {
+        double[] scores = {3.0, 4.5, 4.5, 2.0, 4.9};
+        long[] hostelIds = {10, 31, 12, 40, 50};
+
+        assertArrayEquals(new int[] {4, 2, 1}, RankingOrder.top(scores, hostelIds, null, 3));
+    }
+
+    @Test
+    void matchesFullSortOnRandomScores() {
+        Random random = new Random(42);
+        int n = 2_000;
+        double[] scores = new double[n];
+        long[] hostelIds = new long[n];
+        for (int i = 0; i < n; i++) {
+            // Few distinct scores, so ties are common
+            scores[i] = random.nextInt(50) / 10.0;
+            hostelIds[i] = random.nextInt(1_000_000);
+        }
+
+        for (int limit : new int[] {1, 7, 100, n}) {
+            assertArrayEquals(fullSort(scores, hostelIds, null, limit),
+                    RankingOrder.top(scores, hostelIds, null, limit), "limit " + limit);
+        }
+    }
+
+    @Test
+    void choosesOnlyFromCandidates() {
+        double[] scores = {5.0, 1.0, 4.0, 3.0, 2.0};
+        long[] hostelIds = {1, 2, 3, 4, 5};
+        int[] candidates = {1, 3, 4};
+
+        assertArrayEquals(new int[] {3, 4}, RankingOrder.top(scores, hostelIds, candidates, 2));
+    }
+
+    @Test
+    void limitBeyondCandidatesReturnsAllOfThem() {
+        double[] scores = {1.0, 3.0, 2.0};
+        long[] hostelIds = {1, 2, 3};
+
+        assertArrayEquals(new int[] {1, 2, 0}, RankingOrder.top(scores, hostelIds, null, 10));
+    }
+
+    @Test
+    void nothingToRankReturnsEmpty() {
+        assertEquals(0, RankingOrder.top(new double[0], new long[0], null, 5).length);
+        assertEquals(0, RankingOrder.top(new double[] {1.0}, new long[] {1}, null, 0).length);
+        assertEquals(0, RankingOrder.top(new double[] {1.0}, new long[] {1}, new int[0], 5).length);
+    }
+
+    /**
+     * Reference ranking: sort every candidate, then truncate.
+     */
+    static int[] fullSort(double[] scores, long[] hostelIds, int[] candidates, int limit) {
+        IntStream positions = candidates != null ? Arrays.stream(candidates) : IntStream.range(0, scores.length);
+        return positions.boxed()
+                .sorted((a, b) -> RankingOrder.ranksBefore(a, b, scores, hostelIds) ? -1
+                        : RankingOrder.ranksBefore(b, a, scores, hostelIds) ? 1 : 0)
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,103 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cdac.hostel.model.Hostel;
+import com.cdac.hostel.model.HostelRating;
+import com.cdac.hostel.model.HostelStatus;
+import com.cdac.hostel.repository.HostelRatingRepository;
+import com.cdac.hostel.repository.HostelRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ranking all approved hostels must cost a fixed number of statements, however many hostels there are.
+ * Counts JDBC statements with Hibernate statistics after a warm-up pass, so one-off loads
+ * (e.g. the global totals on first use) do not depend on which test ran first; background jobs
+ * that could query concurrently are pushed out of the test's way. Runs in a transaction that is
+ * rolled back. Needs the MySQL database configured for the application.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "hostel.ranking.refresh-interval-ms=3600000",
+    "hostel.ratings.statistics.reconcile-interval-ms=3600000",
+    "hostel.suggest.refresh-interval-ms=3600000"
+})
+@Transactional
+class RankingQueryCountTests {
+
+    @Autowired
+    private HostelRepository hostelRepository;
+
+    @Autowired
+    private HostelRatingRepository ratingRepository;
+
+    @Autowired
+    private RatingAggregateService aggregateService;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void rankingStatementCountDoesNotGrowWithHostelCount() {
+        addRatedHostels(5);
+        // Warm-up: the first pass also loads the global totals, once per context
+        statementsToRankAll();
+        long few = statementsToRankAll();
+
+        addRatedHostels(50);
+        long many = statementsToRankAll();
+
+        assertTrue(few > 0, "ranking should read from the database when the snapshot is recomputed");
+        assertEquals(few, many, "statements to rank all hostels");
+    }
+
+    /**
+     * Forces a snapshot recompute, reads the full ranking, and returns the statements it took.
+     */
+    private long statementsToRankAll() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        rankingService.markDirty();
+        rankingService.refreshSnapshot();
+        rankingService.getRankedHostels(null);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addRatedHostels(int count) {
+        for (int i = 0; i < count; i++) {
+            Hostel hostel = new Hostel();
+            hostel.setHostelName("Query count hostel " + i);
+            hostel.setAddress("Test address");
+            hostel.setCity("Pune");
+            hostel.setSubmittedByUserId(1L);
+            hostel.setStatus(HostelStatus.APPROVED);
+            hostel = hostelRepository.save(hostel);
+
+            HostelRating rating = new HostelRating();
+            rating.setHostelId(hostel.getHostelId());
+            rating.setUserId(1L);
+            rating.setCleanlinessRating(4);
+            rating.setFoodQualityRating(3);
+            rating.setSafetyRating(5);
+            rating.setLocationRating(4);
+            rating.setAffordabilityRating(2);
+            rating = ratingRepository.saveAndFlush(rating);
+            aggregateService.recordRating(rating);
+        }
+        hostelRepository.flush();
+    }
+}
@@ -0,0 +1,74 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timed throughput comparison of the ranking strategies over synthetic aggregates:
+ * one full scoring pass over 200k hostels per round, as a snapshot recompute does.
+ * Logs the median pass time and scores per second of each strategy.
+ * Not part of the default build; run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+class RankingStrategyBenchmarkTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingStrategyBenchmarkTests.class);
+
+    private static final int HOSTELS = 200_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 11;
+
+    @Test
+    void scoresSyntheticAggregates() {
+        Random random = new Random(7);
+        double[] means = new double[HOSTELS];
+        double[] counts = new double[HOSTELS];
+        double[] meanSquares = new double[HOSTELS];
+        for (int i = 0; i < HOSTELS; i++) {
+            counts[i] = random.nextInt(500);
+            means[i] = counts[i] == 0 ? 0.0 : 1.0 + 4.0 * random.nextDouble();
+            // Between no spread and the widest spread possible at this mean
+            double maxVariance = (means[i] - 1.0) * (5.0 - means[i]);
+            meanSquares[i] = counts[i] == 0 ? 0.0 : means[i] * means[i] + random.nextDouble() * maxVariance;
+        }
+
+        List<RankingStrategy> strategies = List.of(
+                new BayesianRankingStrategy(), new WilsonRankingStrategy(), new DirichletRankingStrategy());
+        double[] scores = new double[HOSTELS];
+
+        for (RankingStrategy strategy : strategies) {
+            long nanos = medianNanos(() -> {
+                for (int i = 0; i < HOSTELS; i++) {
+                    scores[i] = strategy.score(3.6, means[i], counts[i], meanSquares[i]);
+                }
+            });
+            logger.info("Ranking strategy {}: {} hostels in {} us ({} million scores/s)",
+                        strategy.getName(), HOSTELS, nanos / 1_000,
+                        String.format("%.1f", HOSTELS * 1_000.0 / nanos));
+
+            assertTrue(Arrays.stream(scores).allMatch(Double::isFinite), strategy.getName());
+        }
+    }
+
+    private static long medianNanos(Runnable task) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        long[] times = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_ROUNDS / 2];
+    }
+}
@@ -0,0 +1,99 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.cdac.hostel.exception.InvalidRequestException;
+
+class RankingStrategyTests {
+
+    private final RankingStrategy bayesian = new BayesianRankingStrategy();
+    private final RankingStrategy wilson = new WilsonRankingStrategy();
+    private final RankingStrategy dirichlet = new DirichletRankingStrategy();
+
+    @Test
+    void bayesianPullsFewRatingsTowardsThePrior() {
+        assertEquals(3.0, bayesian.score(3.0, 0.0, 0, Double.NaN), 1e-9);
+        // (3.0 * 5 + 5.0 * 5) / (5 + 5)
+        assertEquals(4.0, bayesian.score(3.0, 5.0, 5, Double.NaN), 1e-9);
+        assertEquals(5.0, bayesian.score(3.0, 5.0, 1_000_000, Double.NaN), 1e-4);
+    }
+
+    @Test
+    void wilsonIsALowerBoundThatTightensWithMoreRatings() {
+        assertEquals(1.0, wilson.score(3.0, 0.0, 0, Double.NaN), 1e-9);
+
+        double few = wilson.score(3.0, 4.5, 4, Double.NaN);
+        double many = wilson.score(3.0, 4.5, 400, Double.NaN);
+        assertTrue(few < many, few + " < " + many);
+        assertTrue(many < 4.5, "lower bound stays below the mean");
+        assertTrue(few >= 1.0, "stays on the rating scale");
+    }
+
+    @Test
+    void dirichletPrefersConsistentRatingsAtTheSameMean() {
+        assertTrue(dirichlet.requiresSecondMoment());
+        assertFalse(bayesian.requiresSecondMoment());
+
+        // Twenty ratings averaging 3: all 3s, versus half 1s and half 5s
+        double consistent = dirichlet.score(3.0, 3.0, 20, 9.0);
+        double polarised = dirichlet.score(3.0, 3.0, 20, 13.0);
+        assertTrue(consistent > polarised, consistent + " > " + polarised);
+    }
+
+    @Test
+    void everyStrategyRanksAHigherMeanFirstAtTheSameCount() {
+        for (RankingStrategy strategy : List.of(bayesian, wilson, dirichlet)) {
+            double lower = strategy.score(3.5, 3.0, 50, 9.5);
+            double higher = strategy.score(3.5, 4.0, 50, 16.5);
+            assertTrue(lower < higher, strategy.getName());
+        }
+    }
+
+    @Test
+    void everyStrategyStaysFiniteAndOnTheScaleAtTheExtremes() {
+        double[][] aggregates = {
+            // mean, count, mean of squares
+            {0.0, 0, 0.0}, {1.0, 1, 1.0}, {5.0, 1, 25.0}, {3.0, 2, 13.0}, {1.0, 1e6, 1.0}, {5.0, 1e6, 25.0}
+        };
+        for (RankingStrategy strategy : List.of(bayesian, wilson, dirichlet)) {
+            for (double[] a : aggregates) {
+                double score = strategy.score(3.5, a[0], a[1], a[2]);
+                assertTrue(Double.isFinite(score) && score >= 1.0 - 1e-9 && score <= 5.0 + 1e-9,
+                        strategy.getName() + " " + Arrays.toString(a) + " -> " + score);
+            }
+        }
+    }
+
+    @Test
+    void resolvesStrategiesByName() {
+        RankingStrategies strategies = new RankingStrategies(List.of(bayesian, wilson, dirichlet), "wilson");
+
+        assertSame(wilson, strategies.getDefault());
+        assertSame(wilson, strategies.resolve(null));
+        assertSame(dirichlet, strategies.resolve("Dirichlet"));
+        assertThrows(InvalidRequestException.class, () -> strategies.resolve("elo"));
+        assertThrows(IllegalArgumentException.class, () -> new RankingStrategies(List.of(bayesian), "elo"));
+    }
+
+    @Test
+    void weightedAndDecayedRankingsFallBackFromADefaultNeedingSecondMoments() {
+        RankingStrategies strategies = new RankingStrategies(List.of(bayesian, wilson, dirichlet), "dirichlet");
+
+        assertSame(dirichlet, strategies.resolve(null));
+        assertSame(bayesian, strategies.resolveWithoutSecondMoment(null));
+        assertSame(bayesian, strategies.resolveWithoutSecondMoment(""));
+        assertSame(wilson, strategies.resolveWithoutSecondMoment("wilson"));
+        // Asked for by name, it is not silently replaced
+        assertThrows(InvalidRequestException.class, () -> strategies.resolveWithoutSecondMoment("dirichlet"));
+        assertThrows(IllegalArgumentException.class, () -> new RankingStrategies(List.of(dirichlet), "dirichlet"));
+    }
+}
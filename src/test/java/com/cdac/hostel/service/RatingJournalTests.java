@@ -0,0 +1,138 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.cdac.hostel.model.HostelRating;
+
+class RatingJournalTests {
+
+    @Test
+    void recoversUnsettledRatingsAfterRestart() throws Exception {
+        Path base = tempJournal();
+        try (RatingJournal journal = RatingJournal.open(base, 1 << 20)) {
+            for (long id = 1; id <= 3; id++) {
+                journal.awaitDurable(journal.append(rating(id, id == 2 ? "Clean\tand\nquiet" : null)));
+            }
+        }
+
+        try (RatingJournal journal = RatingJournal.open(base, 1 << 20)) {
+            List<HostelRating> recovered = journal.recovered();
+            assertEquals(List.of(1L, 2L, 3L), recovered.stream().map(HostelRating::getRatingId).toList());
+            assertEquals("Clean\tand\nquiet", recovered.get(1).getReviewText());
+            assertEquals(Integer.valueOf(4), recovered.get(2).getSafetyRating());
+
+            // Recovered segments are sealed, so settling their ratings deletes them
+            recovered.forEach(r -> journal.settled(r.getRatingId()));
+        }
+
+        try (RatingJournal journal = RatingJournal.open(base, 1 << 20)) {
+            assertEquals(0, journal.recovered().size());
+        }
+    }
+
+    @Test
+    void deletesSealedSegmentsOnceSettledWhileOthersStayQueued() throws Exception {
+        Path base = tempJournal();
+        int full;
+        try (RatingJournal journal = RatingJournal.open(base, 200)) {
+            for (long id = 1; id <= 20; id++) {
+                journal.awaitDurable(journal.append(rating(id, null)));
+            }
+            full = journal.segmentCount();
+            assertTrue(full > 3, "segments: " + full);
+
+            // The queue never drains: rating 20 stays unsettled, yet older segments go away
+            for (long id = 1; id < 20; id++) {
+                journal.settled(id);
+            }
+            assertEquals(1, journal.segmentCount());
+        }
+
+        // Only the current segment is replayed, settled lines included
+        try (RatingJournal journal = RatingJournal.open(base, 200)) {
+            List<Long> ids = journal.recovered().stream().map(HostelRating::getRatingId).toList();
+            assertTrue(ids.contains(20L));
+            assertTrue(ids.size() < 20 / full + 2, "replayed: " + ids);
+        }
+    }
+
+    @Test
+    void concurrentAppendsAreAllDurable() throws Exception {
+        Path base = tempJournal();
+        int threads = 8;
+        int perThread = 250;
+        try (RatingJournal journal = RatingJournal.open(base, 16 * 1024)) {
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long first = (long) t * perThread + 1;
+                Thread worker = new Thread(() -> {
+                    for (long id = first; id < first + perThread; id++) {
+                        journal.awaitDurable(journal.append(rating(id, "review " + id)));
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+
+        try (RatingJournal journal = RatingJournal.open(base, 16 * 1024)) {
+            assertEquals(threads * perThread, journal.recovered().size());
+        }
+    }
+
+    @Test
+    void readsSingleFileJournalFromEarlierVersions() throws Exception {
+        Path base = tempJournal();
+        Files.writeString(base, "7\t1\t2\t5\t4\t3\t2\t1\t1700000000000\t-\n7\ttorn", StandardCharsets.UTF_8);
+
+        try (RatingJournal journal = RatingJournal.open(base, 1 << 20)) {
+            assertEquals(1, journal.recovered().size());
+            journal.settled(7L);
+            assertTrue(Files.notExists(base));
+        }
+    }
+
+    private static Path tempJournal() throws IOException {
+        Path directory = Files.createTempDirectory("rating-journal");
+        directory.toFile().deleteOnExit();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            } catch (IOException ignored) {
+                // Best effort
+            }
+        }));
+        return directory.resolve("ratings.journal");
+    }
+
+    private static HostelRating rating(long id, String text) {
+        HostelRating rating = new HostelRating();
+        rating.setRatingId(id);
+        rating.setHostelId(100 + id % 7);
+        rating.setUserId(id);
+        rating.setCleanlinessRating(5);
+        rating.setFoodQualityRating(3);
+        rating.setSafetyRating(4);
+        rating.setLocationRating(2);
+        rating.setAffordabilityRating(1);
+        rating.setReviewText(text);
+        rating.setCreatedAt(new Timestamp(1_700_000_000_000L + id));
+        return rating;
+    }
+}
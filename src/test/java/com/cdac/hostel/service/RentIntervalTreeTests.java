@@ -0,0 +1,73 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RentIntervalTreeTests {
+
+    @Test
+    void reportsOverlapsWithInclusiveBounds() {
+        RentIntervalTree tree = RentIntervalTree.build(
+                new long[] {5_000, 8_000, 12_000},
+                new long[] {7_000, 8_000, 15_000},
+                new int[] {0, 1, 2});
+
+        assertEquals(bits(0, 1), tree.overlapping(7_000, 8_000));
+        assertEquals(bits(2), tree.overlapping(15_000, 20_000));
+        assertEquals(bits(), tree.overlapping(8_001, 11_999));
+        assertEquals(bits(0, 1, 2), tree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(bits(0), tree.overlapping(Long.MIN_VALUE, 6_000));
+    }
+
+    @Test
+    void emptyTreeAndInvertedRangeMatchNothing() {
+        assertTrue(RentIntervalTree.EMPTY.overlapping(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+        assertEquals(0, RentIntervalTree.EMPTY.size());
+
+        RentIntervalTree tree = RentIntervalTree.build(new long[] {1}, new long[] {10}, new int[] {0});
+        assertTrue(tree.overlapping(9, 2).isEmpty());
+    }
+
+    @Test
+    void matchesBruteForceOnRandomRanges() {
+        Random random = new Random(11);
+        for (int n : new int[] {1, 2, 3, 17, 500}) {
+            long[] lows = new long[n];
+            long[] highs = new long[n];
+            int[] slots = new int[n];
+            for (int i = 0; i < n; i++) {
+                lows[i] = random.nextInt(20_000);
+                highs[i] = lows[i] + random.nextInt(5_000);
+                // Slots need not follow array order
+                slots[i] = n - 1 - i;
+            }
+            RentIntervalTree tree = RentIntervalTree.build(lows, highs, slots);
+            assertEquals(n, tree.size());
+
+            for (int q = 0; q < 200; q++) {
+                long from = random.nextInt(25_000) - 1_000;
+                long to = from + random.nextInt(6_000);
+                BitSet expected = new BitSet();
+                for (int i = 0; i < n; i++) {
+                    if (lows[i] <= to && highs[i] >= from) {
+                        expected.set(slots[i]);
+                    }
+                }
+                assertEquals(expected, tree.overlapping(from, to), "n=" + n + " [" + from + ", " + to + "]");
+            }
+        }
+    }
+
+    private static BitSet bits(int... slots) {
+        BitSet bits = new BitSet();
+        for (int slot : slots) {
+            bits.set(slot);
+        }
+        return bits;
+    }
+}
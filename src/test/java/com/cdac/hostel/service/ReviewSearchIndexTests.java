@@ -0,0 +1,60 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReviewSearchIndexTests {
+
+    @Test
+    void tokenizeLowercasesAndSplitsOnNonLetters() {
+        assertEquals(List.of("water", "problem", "3rd", "floor", "wi", "fi"),
+                ReviewSearchIndex.tokenize("Water-problem on the 3rd FLOOR; Wi-Fi!"));
+    }
+
+    @Test
+    void tokenizeDropsStopWordsAndSingleCharacters() {
+        assertEquals(List.of("food", "good"), ReviewSearchIndex.tokenize("The food is a good x"));
+        assertEquals(List.of(), ReviewSearchIndex.tokenize("it was a"));
+        assertEquals(List.of(), ReviewSearchIndex.tokenize(null));
+        assertEquals(List.of(), ReviewSearchIndex.tokenize(""));
+    }
+
+    @Test
+    void tokenizeKeepsAccentsAndCombiningMarksInsideWords() {
+        assertEquals(List.of("café", "khana", "बढ़िया"), ReviewSearchIndex.tokenize("Café khana बढ़िया"));
+    }
+
+    @Test
+    void searchRanksRepeatedTermsInShortReviewsFirst() {
+        ReviewSearchIndex index = new ReviewSearchIndex();
+        index.index(1L, 10L, "water problem water problem every day");
+        index.index(2L, 10L, "rooms are clean but there was a water problem once during the long monsoon season");
+        index.index(3L, 11L, "great food and friendly warden");
+
+        List<ReviewSearchIndex.Hit> hits = index.search("water problem", null, 10);
+
+        assertEquals(2, hits.size());
+        assertEquals(1L, hits.get(0).getRatingId());
+        assertEquals(2L, hits.get(1).getRatingId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void searchCanBeRestrictedToOneHostelAndFollowsEdits() {
+        ReviewSearchIndex index = new ReviewSearchIndex();
+        index.index(1L, 10L, "noisy street outside");
+        index.index(2L, 11L, "noisy neighbours");
+
+        assertEquals(1, index.search("noisy", 11L, 10).size());
+        assertEquals(2L, index.search("noisy", 11L, 10).get(0).getRatingId());
+
+        // Re-indexing a rating replaces its earlier text
+        index.index(2L, 11L, "quiet and calm");
+        assertEquals(0, index.search("noisy", 11L, 10).size());
+        assertEquals(1, index.search("quiet", null, 10).size());
+    }
+}
@@ -0,0 +1,133 @@
+package com.cdac.hostel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.cdac.hostel.dto.SuggestionDTO;
+import com.cdac.hostel.dto.SuggestionDTO.Type;
+
+class SuggestionTrieTests {
+
+    private static final SuggestionTrie TRIE = SuggestionTrie.build(new SuggestionDTO[] {
+            suggestion("Kothrud", Type.LOCALITY, 40),
+            suggestion("Sunrise  Boys Hostel", Type.HOSTEL, 25),
+            suggestion("Kothrud Depot", Type.LANDMARK, 12),
+            suggestion("Deccan Gymkhana", Type.LOCALITY, 9),
+            suggestion("Sunshine PG", Type.HOSTEL, 3)
+    });
+
+    @Test
+    void matchesAnyWordStart() {
+        assertEquals(List.of("Kothrud Depot"), texts(TRIE.suggest("depot", 10)));
+        assertEquals(List.of("Sunrise  Boys Hostel"), texts(TRIE.suggest("boys h", 10)));
+        assertEquals(List.of("Kothrud Depot", "Deccan Gymkhana"), texts(TRIE.suggest("de", 10)));
+        // Not a word start
+        assertEquals(List.of(), texts(TRIE.suggest("hrud", 10)));
+    }
+
+    @Test
+    void ignoresCaseAndExtraWhitespace() {
+        assertEquals(List.of("Sunrise  Boys Hostel"), texts(TRIE.suggest("  SUNRISE   boys ", 10)));
+        assertEquals(List.of("Kothrud", "Kothrud Depot"), texts(TRIE.suggest("KoTh", 10)));
+    }
+
+    @Test
+    void returnsBestFirstUpToTheLimit() {
+        assertEquals(List.of("Sunrise  Boys Hostel", "Sunshine PG"), texts(TRIE.suggest("sun", 10)));
+        assertEquals(List.of("Sunrise  Boys Hostel"), texts(TRIE.suggest("sun", 1)));
+        assertEquals(List.of(), texts(TRIE.suggest("sun", 0)));
+    }
+
+    @Test
+    void emptyOrUnknownPrefixMatchesNothing() {
+        assertEquals(List.of(), TRIE.suggest("", 10));
+        assertEquals(List.of(), TRIE.suggest("   ", 10));
+        assertEquals(List.of(), TRIE.suggest(null, 10));
+        assertEquals(List.of(), TRIE.suggest("viman", 10));
+        assertEquals(List.of(), new SuggestionTrie().suggest("k", 10));
+    }
+
+    @Test
+    void capsResultsAtMaxSuggestions() {
+        SuggestionDTO[] many = IntStream.range(0, 3 * HostelSuggestIndex.MAX_SUGGESTIONS)
+                .mapToObj(i -> suggestion("Hostel " + i, Type.HOSTEL, 1_000 - i))
+                .toArray(SuggestionDTO[]::new);
+        SuggestionTrie trie = SuggestionTrie.build(many);
+
+        List<SuggestionDTO> result = trie.suggest("hostel", 100);
+
+        assertEquals(HostelSuggestIndex.MAX_SUGGESTIONS, result.size());
+        assertEquals(List.of(many).subList(0, HostelSuggestIndex.MAX_SUGGESTIONS), result);
+    }
+
+    @Test
+    void updatesRerankAndRemoveSuggestions() {
+        SuggestionTrie trie = SuggestionTrie.build(
+                hostel(1, "Sunrise Boys Hostel", 25), hostel(2, "Sunshine PG", 3), hostel(3, "Sunset Stay", 10));
+
+        trie.put(hostel(2, "Sunshine PG", 40));
+        assertEquals(List.of("Sunshine PG", "Sunrise Boys Hostel", "Sunset Stay"), texts(trie.suggest("sun", 10)));
+
+        // Renamed and demoted: old keys no longer match
+        trie.put(hostel(2, "Moonlight PG", 1));
+        assertEquals(List.of("Sunrise Boys Hostel", "Sunset Stay"), texts(trie.suggest("sun", 10)));
+        assertEquals(List.of("Moonlight PG"), texts(trie.suggest("pg", 10)));
+
+        trie.remove(hostel(1, "Sunrise Boys Hostel", 0));
+        assertEquals(List.of("Sunset Stay"), texts(trie.suggest("su", 10)));
+        assertEquals(List.of(), trie.suggest("boys", 10));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFreshBuild() {
+        Random random = new Random(5);
+        String[] words = {"sun", "sunrise", "star", "stay", "boys", "girls", "hostel", "pg", "home"};
+        Map<Long, SuggestionDTO> current = new HashMap<>();
+        SuggestionTrie trie = new SuggestionTrie();
+
+        for (int step = 0; step < 2_000; step++) {
+            long id = random.nextInt(60);
+            if (random.nextInt(4) == 0) {
+                trie.remove(hostel(id, "x", 0));
+                current.remove(id);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                SuggestionDTO suggestion = hostel(id, name, random.nextInt(20));
+                trie.put(suggestion);
+                current.put(id, suggestion);
+            }
+
+            if (step % 100 == 99) {
+                SuggestionTrie rebuilt = SuggestionTrie.build(current.values().toArray(SuggestionDTO[]::new));
+                for (String prefix : List.of("s", "su", "st", "sunr", "h", "hostel", "pg", "b", "girls h")) {
+                    assertEquals(counts(rebuilt.suggest(prefix, 10)), counts(trie.suggest(prefix, 10)), prefix);
+                }
+            }
+        }
+    }
+
+    private static SuggestionDTO hostel(long id, String name, long ratingCount) {
+        return new SuggestionDTO(name, Type.HOSTEL, id, ratingCount);
+    }
+
+    // Ties may fall in either order between two tries, so compare what is ranked, not who
+    private static List<String> counts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(s -> s.getRatingCount() + " " + s.getText()).toList();
+    }
+
+    private static SuggestionDTO suggestion(String text, Type type, long ratingCount) {
+        return new SuggestionDTO(text, type, null, ratingCount);
+    }
+
+    private static List<String> texts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getText).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.cdac.hostel.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.cdac.hostel.exception.InvalidRequestException;
+
+class CursorCodecTests {
+
+    @Test
+    void roundTripsSortKeyParts() {
+        Instant createdAt = Instant.parse("2024-05-01T10:15:30.123Z");
+        String cursor = CursorCodec.encode(4.25, createdAt, 42L);
+
+        String[] parts = CursorCodec.decode(cursor, 3);
+
+        assertEquals(4.25, CursorCodec.parseDouble(parts[0]), 0.0);
+        assertEquals(createdAt, CursorCodec.parseInstant(parts[1]));
+        assertEquals(42L, CursorCodec.parseLong(parts[2]));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = CursorCodec.encode("??>>~~", Long.MAX_VALUE);
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+    }
+
+    @Test
+    void rejectsWrongNumberOfParts() {
+        String cursor = CursorCodec.encode(1L, 2L);
+
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.decode(cursor, 1));
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.decode(cursor, 3));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.decode("not base64!", 1));
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.parseLong("abc"));
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.parseDouble("4.5x"));
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.parseInstant("yesterday"));
+    }
+
+    @Test
+    void checksPageSizeBounds() {
+        CursorCodec.checkPageSize(1);
+        CursorCodec.checkPageSize(CursorCodec.MAX_PAGE_SIZE);
+
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.checkPageSize(0));
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.checkPageSize(CursorCodec.MAX_PAGE_SIZE + 1));
+    }
+}
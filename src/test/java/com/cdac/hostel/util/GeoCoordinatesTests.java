@@ -0,0 +1,50 @@
+package com.cdac.hostel.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class GeoCoordinatesTests {
+
+    private static final double[] PUNE = {18.5204, 73.8567};
+
+    @Test
+    void parsesCommonMapLinkFormats() {
+        assertArrayEquals(PUNE, GeoCoordinates.parse("https://maps.google.com/?q=18.5204,73.8567"), 1e-9);
+        assertArrayEquals(PUNE, GeoCoordinates.parse("https://www.google.com/maps/@18.5204,73.8567,15z"), 1e-9);
+        assertArrayEquals(PUNE, GeoCoordinates.parse("https://maps.example.com/?zoom=3&ll=18.5204%2C73.8567"), 1e-9);
+        assertArrayEquals(PUNE, GeoCoordinates.parse("  18.5204, 73.8567 "), 1e-9);
+        assertArrayEquals(new double[] {-33.8688, 151.2093}, GeoCoordinates.parse("-33.8688,151.2093"), 1e-9);
+    }
+
+    @Test
+    void ignoresTextWithoutValidCoordinates() {
+        assertNull(GeoCoordinates.parse(null));
+        assertNull(GeoCoordinates.parse("   "));
+        assertNull(GeoCoordinates.parse("Near Kothrud Depot, Pune"));
+        assertNull(GeoCoordinates.parse("https://goo.gl/maps/AbCdEf123"));
+        // Latitude out of range
+        assertNull(GeoCoordinates.parse("?q=95.1,73.8"));
+    }
+
+    @Test
+    void validatesRanges() {
+        assertTrue(GeoCoordinates.isValid(90, -180));
+        assertFalse(GeoCoordinates.isValid(-90.1, 0));
+        assertFalse(GeoCoordinates.isValid(0, 180.5));
+    }
+
+    @Test
+    void haversineMatchesKnownDistances() {
+        assertEquals(0.0, GeoCoordinates.haversineKm(PUNE[0], PUNE[1], PUNE[0], PUNE[1]), 1e-9);
+        assertEquals(GeoCoordinates.KM_PER_DEGREE, GeoCoordinates.haversineKm(10, 20, 11, 20), 1e-6);
+        // Pune to Mumbai, about 120 km as the crow flies
+        assertEquals(120.15, GeoCoordinates.haversineKm(PUNE[0], PUNE[1], 19.0760, 72.8777), 0.01);
+        // Antipodes are half the circumference apart
+        assertEquals(Math.PI * GeoCoordinates.EARTH_RADIUS_KM, GeoCoordinates.haversineKm(0, 0, 0, 180), 1e-6);
+    }
+}